@@ -0,0 +1,133 @@
+package com.ada.ratemycourse.benchmark;
+
+import com.ada.ratemycourse.RatemycourseApplication;
+import com.ada.ratemycourse.model.Difficulty;
+import com.ada.ratemycourse.model.Review;
+import com.ada.ratemycourse.service.CourseStatsService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Boots the application against an embedded PostgreSQL, migrated by Flyway and seeded with a synthetic catalog
+@State(Scope.Benchmark)
+public class CatalogFixture {
+
+    static final int PROFESSORS = 100;
+    static final int COURSES = 1_000;
+    static final int USERS = 1_000;
+    static final int REVIEWS = 100_000;
+
+    private static final String[] SEMESTERS = {"Fall", "Spring", "Summer"};
+
+    EmbeddedPostgres postgres;
+    ConfigurableApplicationContext context;
+    TransactionTemplate readOnly;
+
+    // Detached copies of the seeded reviews for the in-memory scoring benchmarks
+    List<Review> reviews;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        context = new SpringApplicationBuilder(RatemycourseApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "spring.datasource.username=postgres",
+                        "spring.datasource.password=",
+                        // The embedded server commits asynchronously, which keeps VACUUM from marking pages all-visible
+                        "spring.datasource.hikari.connection-init-sql=SET synchronous_commit = on",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "spring.cache.type=none",
+                        "ratemycourse.stats.rebuild-on-startup=false",
+                        "logging.level.root=WARN")
+                .run();
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        seed(jdbc);
+        // Statistics for the seeded tables, so the planner picks the plans it would in production
+        jdbc.execute("VACUUM ANALYZE");
+        context.getBean(CourseStatsService.class).rebuild();
+
+        // Lazy collections are read inside a transaction, as open-in-view does for web requests
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> users = new ArrayList<>(USERS);
+        for (int i = 1; i <= USERS; i++) {
+            users.add(new Object[]{"student" + i + "@ada.edu.az", "x", now});
+        }
+        jdbc.batchUpdate("INSERT INTO users (email, password, created_at) VALUES (?, ?, ?)", users);
+
+        List<Object[]> professors = new ArrayList<>(PROFESSORS);
+        for (int i = 1; i <= PROFESSORS; i++) {
+            professors.add(new Object[]{"Professor " + i, school(i), department(i)});
+        }
+        jdbc.batchUpdate("INSERT INTO professors (name, school, department) VALUES (?, ?, ?)", professors);
+
+        List<Object[]> courses = new ArrayList<>(COURSES);
+        for (int i = 1; i <= COURSES; i++) {
+            int professorId = (i % PROFESSORS) + 1;
+            courses.add(new Object[]{"CS" + (1000 + i), "Course " + i, school(professorId),
+                    department(professorId), professorId});
+        }
+        jdbc.batchUpdate("INSERT INTO courses (code, title, school, department, professor_id) VALUES (?, ?, ?, ?, ?)",
+                courses);
+
+        reviews = new ArrayList<>(REVIEWS);
+        List<Object[]> rows = new ArrayList<>(REVIEWS);
+        for (int i = 0; i < REVIEWS; i++) {
+            int courseId = (i % COURSES) + 1;
+            Review review = new Review();
+            review.setRating((double) (1 + i % 5));
+            review.setDifficulty(Difficulty.values()[i % 3]);
+            review.setText("Synthetic review " + i);
+            review.setSemester(SEMESTERS[i % SEMESTERS.length]);
+            review.setYear(2015 + i % 10);
+            reviews.add(review);
+
+            rows.add(new Object[]{(i % USERS) + 1, courseId, (courseId % PROFESSORS) + 1, review.getRating(),
+                    review.getDifficulty().getLabel(), review.getText(), review.getSemester(), review.getYear(), now});
+        }
+        jdbc.batchUpdate("INSERT INTO reviews (user_id, course_id, professor_id, rating, difficulty, text, "
+                + "semester, year, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private static String school(int i) {
+        return i % 2 == 0 ? "SITE" : "SB";
+    }
+
+    private static String department(int i) {
+        return "Department " + (i % 10);
+    }
+}
@@ -0,0 +1,69 @@
+package com.ada.ratemycourse.benchmark;
+
+import com.ada.ratemycourse.dto.CourseResponse;
+import com.ada.ratemycourse.dto.ProfessorResponse;
+import com.ada.ratemycourse.dto.ReviewResponse;
+import com.ada.ratemycourse.service.CourseService;
+import com.ada.ratemycourse.service.ProfessorService;
+import com.ada.ratemycourse.service.ReviewService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JSON encoding of the response DTOs with the application's ObjectMapper, data is built once per trial
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SerializationBenchmarks {
+
+    private ObjectMapper objectMapper;
+    private List<CourseResponse> courses;
+    private List<ProfessorResponse> professors;
+    private ProfessorResponse professorWithCourses;
+    private List<ReviewResponse> courseReviews;
+
+    @Setup(Level.Trial)
+    public void setUp(CatalogFixture fixture) {
+        objectMapper = fixture.bean(ObjectMapper.class);
+        courses = fixture.bean(CourseService.class).getAllCourses();
+        professors = fixture.bean(ProfessorService.class).getAllProfessors();
+        professorWithCourses = fixture.readOnly.execute(
+                status -> fixture.bean(ProfessorService.class).getProfessorById(1L));
+        courseReviews = fixture.bean(ReviewService.class).getReviewsForCourse(1L, null);
+    }
+
+    @Benchmark
+    public byte[] courseList() {
+        return objectMapper.writeValueAsBytes(courses);
+    }
+
+    @Benchmark
+    public byte[] professorList() {
+        return objectMapper.writeValueAsBytes(professors);
+    }
+
+    @Benchmark
+    public byte[] professorWithCourses() {
+        return objectMapper.writeValueAsBytes(professorWithCourses);
+    }
+
+    @Benchmark
+    public byte[] courseReviews() {
+        return objectMapper.writeValueAsBytes(courseReviews);
+    }
+}
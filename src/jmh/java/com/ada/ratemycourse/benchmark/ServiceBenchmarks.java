@@ -0,0 +1,69 @@
+package com.ada.ratemycourse.benchmark;
+
+import com.ada.ratemycourse.dto.CourseResponse;
+import com.ada.ratemycourse.dto.ProfessorResponse;
+import com.ada.ratemycourse.service.CourseService;
+import com.ada.ratemycourse.service.ProfessorService;
+import com.ada.ratemycourse.service.ReviewService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Service-layer read paths; mapToResponse/mapToResponseWithCourses are reached through the public listings
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ServiceBenchmarks {
+
+    private ReviewService reviewService;
+    private CourseService courseService;
+    private ProfessorService professorService;
+    private long professorId;
+
+    @Setup(Level.Trial)
+    public void setUp(CatalogFixture fixture) {
+        reviewService = fixture.bean(ReviewService.class);
+        courseService = fixture.bean(CourseService.class);
+        professorService = fixture.bean(ProfessorService.class);
+    }
+
+    @Benchmark
+    public String calculateDifficultyFromReviews(CatalogFixture fixture) {
+        return reviewService.calculateDifficulty(fixture.reviews);
+    }
+
+    @Benchmark
+    public String calculateDifficultyFromCounters() {
+        return reviewService.calculateDifficulty(33_334, 33_333, 33_333);
+    }
+
+    @Benchmark
+    public List<CourseResponse> courseList() {
+        return courseService.getAllCourses();
+    }
+
+    @Benchmark
+    public List<ProfessorResponse> professorList() {
+        return professorService.getAllProfessors();
+    }
+
+    @Benchmark
+    public ProfessorResponse professorWithCourses(CatalogFixture fixture) {
+        long id = (professorId++ % CatalogFixture.PROFESSORS) + 1;
+        return fixture.readOnly.execute(status -> professorService.getProfessorById(id));
+    }
+}
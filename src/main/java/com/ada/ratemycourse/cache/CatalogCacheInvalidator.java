@@ -0,0 +1,79 @@
+package com.ada.ratemycourse.cache;
+
+import com.ada.ratemycourse.config.CacheConfig;
+import com.ada.ratemycourse.event.CatalogRebuiltEvent;
+import com.ada.ratemycourse.event.ReviewChangedEvent;
+import com.ada.ratemycourse.event.ReviewSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Evicts only the catalog entries a committed review write can have changed
+@Component
+public class CatalogCacheInvalidator {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SchoolSnapshots schoolSnapshots;
+
+    private Counter invalidations;
+
+    @PostConstruct
+    void registerMetrics() {
+        invalidations = Counter.builder("catalog.cache.invalidations")
+                .description("Catalog cache entries evicted by review writes")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(CacheConfig.EVICT_ORDER)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        event.snapshots().forEach(this::evict);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(CacheConfig.EVICT_ORDER)
+    public void onCatalogRebuilt(CatalogRebuiltEvent event) {
+        clearAll();
+    }
+
+    private void evict(ReviewSnapshot snapshot) {
+        if (snapshot.getCourseId() != null) {
+            evict(CacheConfig.COURSES, snapshot.getCourseCode());
+            evict(CacheConfig.COURSE_LIST, CacheConfig.ALL);
+        }
+        if (snapshot.getProfessorId() != null) {
+            evict(CacheConfig.PROFESSORS, snapshot.getProfessorId());
+            evict(CacheConfig.PROFESSORS_BY_NAME, snapshot.getProfessorName());
+            evict(CacheConfig.PROFESSOR_LIST, CacheConfig.ALL);
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null && cache.evictIfPresent(key)) {
+            invalidations.increment();
+        }
+    }
+
+    public void clearAll() {
+        schoolSnapshots.clear();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.invalidate();
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.ada.ratemycourse.cache;
+
+import com.ada.ratemycourse.config.CacheConfig;
+import com.ada.ratemycourse.event.CatalogRebuiltEvent;
+import com.ada.ratemycourse.event.ReviewChangedEvent;
+import com.ada.ratemycourse.event.ReviewSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-entity version counters bumped on review writes, used as ETags without touching the database.
+// The counters are local to this node and only see writes made through it. Tags also carry a time
+// bucket of max-age, so a write made through another node changes this node's tags within one bucket,
+// the same bound the response caches underneath expire on.
+@Component
+public class CatalogVersions {
+
+    @Value("${ratemycourse.etag.max-age:10m}")
+    private Duration maxAge;
+
+    private Clock clock = Clock.systemUTC();
+
+    // Counters restart at zero on every boot, the epoch keeps old tags from matching
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong catalog = new AtomicLong();
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(CacheConfig.VERSION_ORDER)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        event.snapshots().forEach(this::bump);
+        catalog.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(CacheConfig.VERSION_ORDER)
+    public void onCatalogRebuilt(CatalogRebuiltEvent event) {
+        bumpAll();
+    }
+
+    // Invalidates every tag, for changes that are not tracked per entity
+    public void bumpAll() {
+        generation.incrementAndGet();
+    }
+
+    public String catalogTag() {
+        return tag("catalog", catalog.get());
+    }
+
+    public String courseTag(String code) {
+        return tag("course", version("course:" + code));
+    }
+
+    public String courseSchoolTag(String school) {
+        return tag("course-school", version("course-school:" + school));
+    }
+
+    public String courseReviewsTag(Long courseId, String viewer) {
+        return tag("course-reviews", version("course-reviews:" + courseId)) + viewerSuffix(viewer);
+    }
+
+    public String professorTag(Long id) {
+        return tag("professor", version("professor:" + id));
+    }
+
+    public String professorNameTag(String name) {
+        return tag("professor-name", version("professor-name:" + name));
+    }
+
+    public String professorSchoolTag(String school) {
+        return tag("professor-school", version("professor-school:" + school));
+    }
+
+    public String professorReviewsTag(Long professorId, String viewer) {
+        return tag("professor-reviews", version("professor-reviews:" + professorId)) + viewerSuffix(viewer);
+    }
+
+    private void bump(ReviewSnapshot snapshot) {
+        if (snapshot.getCourseId() != null) {
+            increment("course:" + snapshot.getCourseCode());
+            increment("course-school:" + snapshot.getCourseSchool());
+            increment("course-reviews:" + snapshot.getCourseId());
+        }
+        if (snapshot.getProfessorId() != null) {
+            increment("professor:" + snapshot.getProfessorId());
+            increment("professor-name:" + snapshot.getProfessorName());
+            increment("professor-school:" + snapshot.getProfessorSchool());
+        }
+        if (snapshot.getDirectProfessorId() != null) {
+            increment("professor-reviews:" + snapshot.getDirectProfessorId());
+        }
+    }
+
+    private void increment(String key) {
+        counters.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    private long version(String key) {
+        AtomicLong counter = counters.get(key);
+        return counter != null ? counter.get() : 0;
+    }
+
+    private String tag(String kind, long version) {
+        return kind + "-" + epoch + "-" + generation.get() + "-" + version + "-" + clock.millis() / maxAge.toMillis();
+    }
+
+    // Review lists carry per-viewer canEdit flags
+    private static String viewerSuffix(String viewer) {
+        return viewer != null ? "-" + Integer.toHexString(viewer.hashCode()) : "";
+    }
+}
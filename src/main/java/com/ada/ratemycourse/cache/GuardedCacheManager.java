@@ -0,0 +1,34 @@
+package com.ada.ratemycourse.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Hands out GuardedCaffeineCache views of the Caffeine caches; other cache types pass through
+public class GuardedCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public GuardedCacheManager(CacheManager delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = delegate.getCache(name);
+        if (!(cache instanceof CaffeineCache caffeineCache)) {
+            return cache;
+        }
+        return caches.computeIfAbsent(name, k -> new GuardedCaffeineCache(caffeineCache));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
@@ -0,0 +1,64 @@
+package com.ada.ratemycourse.cache;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Caffeine cache that drops read-through puts which could carry data from before an eviction.
+// @Cacheable looks up, runs the method and then puts; a read that missed before a review write
+// committed can return the old rows after the after-commit evict has run. Each miss remembers the
+// cache's eviction generation and the put is skipped when an eviction happened in between.
+public class GuardedCaffeineCache extends CaffeineCache {
+
+    private final AtomicLong generation = new AtomicLong();
+    private final ThreadLocal<Map<Object, Long>> misses = ThreadLocal.withInitial(HashMap::new);
+
+    public GuardedCaffeineCache(CaffeineCache cache) {
+        super(cache.getName(), cache.getNativeCache(), cache.isAllowNullValues());
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        if (value == null) {
+            misses.get().put(key, generation.get());
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Long missedAt = misses.get().remove(key);
+        if (missedAt != null && missedAt != generation.get()) {
+            return; // evicted while the value was being loaded, it may be stale
+        }
+        super.put(key, value);
+    }
+
+    // The generation moves before the entry goes, so a load that missed earlier cannot put it back
+    @Override
+    public void evict(Object key) {
+        generation.incrementAndGet();
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        generation.incrementAndGet();
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        generation.incrementAndGet();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        generation.incrementAndGet();
+        return super.invalidate();
+    }
+}
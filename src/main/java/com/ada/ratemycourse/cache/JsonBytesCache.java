@@ -0,0 +1,85 @@
+package com.ada.ratemycourse.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+// Serialized JSON of hot responses. Keys include the CatalogVersions tag, so a review write
+// moves readers to a new key and the old bytes simply age out; entries are dropped a fixed time
+// after they were written, so even a hot key is re-serialized from current data.
+@Component
+public class JsonBytesCache {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Off encodes every response afresh; load tests use it so each request reaches the database
+    @Value("${ratemycourse.json-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ratemycourse.json-cache.max-bytes:33554432}")
+    private long maxBytes;
+
+    // Smaller bodies are not worth compressing
+    @Value("${ratemycourse.json-cache.gzip-min-bytes:1024}")
+    private int gzipMinBytes;
+
+    private Cache<String, EncodedJson> cache;
+
+    // gzip is null when the body is below the compression threshold
+    public record EncodedJson(byte[] json, byte[] gzip) {
+        int weight() {
+            return json.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .<String, EncodedJson>weigher((key, value) -> value.weight())
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jsonBytes");
+    }
+
+    // Concurrent requests for the same key wait for one serialization instead of each doing it
+    public EncodedJson get(String key, Supplier<?> body) {
+        if (!enabled) {
+            return encode(body.get());
+        }
+        return cache.get(key, k -> encode(body.get()));
+    }
+
+    private EncodedJson encode(Object body) {
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        return new EncodedJson(json, json.length >= gzipMinBytes ? gzip(json) : null);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,122 @@
+package com.ada.ratemycourse.cache;
+
+import com.ada.ratemycourse.dto.CourseResponse;
+import com.ada.ratemycourse.dto.ProfessorResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.ToLongFunction;
+
+// Per-school course and professor listings held as arrays that are never modified once published.
+// A change copies the array with the one updated entry and swaps the reference, so readers never
+// lock and always see a complete listing.
+@Component
+public class SchoolSnapshots {
+
+    private final Listings<CourseResponse> courses = new Listings<>(CourseResponse::getId);
+    private final Listings<ProfessorResponse> professors = new Listings<>(ProfessorResponse::getId);
+
+    // Review writes on other nodes are not seen here, so a snapshot is reloaded after this long
+    @Value("${ratemycourse.school-snapshots.max-age:10m}")
+    private Duration maxAge;
+
+    public List<CourseResponse> courses(String school, Function<String, List<CourseResponse>> loader) {
+        return courses.get(school, loader, CourseResponse[]::new, maxAge);
+    }
+
+    public List<ProfessorResponse> professors(String school, Function<String, List<ProfessorResponse>> loader) {
+        return professors.get(school, loader, ProfessorResponse[]::new, maxAge);
+    }
+
+    public boolean hasCourses(String school) {
+        return courses.contains(school);
+    }
+
+    public boolean hasProfessors(String school) {
+        return professors.contains(school);
+    }
+
+    public void updateCourse(String school, CourseResponse course) {
+        courses.update(school, course);
+    }
+
+    public void updateProfessor(String school, ProfessorResponse professor) {
+        professors.update(school, professor);
+    }
+
+    public void clear() {
+        courses.clear();
+        professors.clear();
+    }
+
+    private record Snapshot<T>(T[] items, long loadedAt) {
+    }
+
+    private static final class Listings<T> {
+
+        // Only schools that have listings are held, so made-up school names in URLs do not add entries
+        private final ConcurrentMap<String, Snapshot<T>> bySchool = new ConcurrentHashMap<>();
+        // Bumped on every change so a load that raced with an update is not published. One counter for all
+        // schools keeps unknown names out of memory; a racing load is still returned, just not kept.
+        private final AtomicLong version = new AtomicLong();
+        private final ToLongFunction<T> id;
+
+        Listings(ToLongFunction<T> id) {
+            this.id = id;
+        }
+
+        List<T> get(String school, Function<String, List<T>> loader, IntFunction<T[]> newArray, Duration maxAge) {
+            Snapshot<T> snapshot = bySchool.get(school);
+            long now = System.nanoTime();
+            if (snapshot == null || now - snapshot.loadedAt() > maxAge.toNanos()) {
+                long loadVersion = version.get();
+                Snapshot<T> loaded = new Snapshot<>(loader.apply(school).toArray(newArray.apply(0)), now);
+                // Checked inside compute, which update() also goes through, so an update cannot slip in
+                // between the check and the publish
+                bySchool.compute(school, (key, current) ->
+                        version.get() != loadVersion ? current
+                                : loaded.items().length > 0 ? loaded
+                                : null);
+                snapshot = loaded;
+            }
+            return Collections.unmodifiableList(Arrays.asList(snapshot.items()));
+        }
+
+        boolean contains(String school) {
+            return school != null && bySchool.containsKey(school);
+        }
+
+        void update(String school, T item) {
+            if (school == null) return;
+
+            version.incrementAndGet();
+            bySchool.computeIfPresent(school, (key, snapshot) -> {
+                T[] items = snapshot.items();
+                long itemId = id.applyAsLong(item);
+                for (int i = 0; i < items.length; i++) {
+                    if (id.applyAsLong(items[i]) == itemId) {
+                        T[] copy = items.clone();
+                        copy[i] = item;
+                        return new Snapshot<>(copy, snapshot.loadedAt());
+                    }
+                }
+                // Not listed yet, rebuild this school on the next read
+                return null;
+            });
+        }
+
+        void clear() {
+            version.incrementAndGet();
+            bySchool.clear();
+        }
+    }
+}
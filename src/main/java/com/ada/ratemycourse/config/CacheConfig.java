@@ -0,0 +1,42 @@
+package com.ada.ratemycourse.config;
+
+import com.ada.ratemycourse.cache.GuardedCacheManager;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String COURSES = "courses";
+    public static final String COURSE_LIST = "courseList";
+    public static final String PROFESSORS = "professors";
+    public static final String PROFESSORS_BY_NAME = "professorsByName";
+    public static final String PROFESSOR_LIST = "professorList";
+    public static final String SESSION_USERS = "sessionUsers";
+
+    // Key used for the single entry of the list caches
+    public static final String ALL = "all";
+
+    // Order of the after-commit catalog listeners. Evictions and in-memory refreshes finish before the
+    // CatalogVersions tags move, so a request that sees a new tag can only read, and cache, new data.
+    public static final int EVICT_ORDER = 0;
+    public static final int REFRESH_ORDER = 10;
+    public static final int VERSION_ORDER = 100;
+
+    // Keeps reads that overlap an eviction from putting their old value back, see GuardedCaffeineCache
+    @Bean
+    static BeanPostProcessor guardedCacheManager() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof CacheManager cacheManager && !(bean instanceof GuardedCacheManager)
+                        ? new GuardedCacheManager(cacheManager)
+                        : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,52 @@
+package com.ada.ratemycourse.config;
+
+import com.ada.ratemycourse.dto.ImportResult;
+import com.ada.ratemycourse.importer.ImportFormat;
+import com.ada.ratemycourse.importer.RecordReader;
+import com.ada.ratemycourse.service.CatalogImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+// Imports files given on the command line, e.g. --import.professors=profs.csv --import.reviews=reviews.ndjson;
+// kinds run in dependency order so courses can reference professors imported in the same run
+@Component
+public class CatalogImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogImportRunner.class);
+
+    private static final List<String> KINDS = List.of(
+            CatalogImportService.PROFESSORS, CatalogImportService.COURSES, CatalogImportService.REVIEWS);
+
+    @Autowired
+    private CatalogImportService catalogImportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        for (String kind : KINDS) {
+            List<String> files = args.getOptionValues("import." + kind);
+            if (files == null) continue;
+
+            for (String file : files) {
+                Path path = Path.of(file);
+                try (RecordReader reader = ImportFormat.of(path.getFileName().toString())
+                        .open(Files.newInputStream(path), objectMapper)) {
+                    ImportResult result = catalogImportService.importRecords(kind, reader);
+                    result.getErrors().forEach(error -> log.warn("{}: {}", file, error));
+                }
+            }
+        }
+    }
+}
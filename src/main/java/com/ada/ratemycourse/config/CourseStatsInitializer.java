@@ -0,0 +1,33 @@
+package com.ada.ratemycourse.config;
+
+import com.ada.ratemycourse.service.CourseStatsService;
+import com.ada.ratemycourse.service.RatingHistogramService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Seeds course_stats and rating_histograms from the reviews table so existing data is covered after a deploy
+@Component
+@Order(0)
+public class CourseStatsInitializer implements ApplicationRunner {
+
+    @Autowired
+    private CourseStatsService courseStatsService;
+
+    @Autowired
+    private RatingHistogramService ratingHistogramService;
+
+    @Value("${ratemycourse.stats.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (rebuildOnStartup) {
+            courseStatsService.rebuild();
+            ratingHistogramService.rebuild();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.ada.ratemycourse.config;
+
+import com.ada.ratemycourse.service.LeaderboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Loads the leaderboards once course_stats has been rebuilt
+@Component
+@Order(1)
+public class LeaderboardInitializer implements ApplicationRunner {
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        leaderboardService.rebuild();
+    }
+}
@@ -1,27 +1,43 @@
 package com.ada.ratemycourse.config;
 
+import com.ada.ratemycourse.dto.SessionUser;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.http.HttpStatus;
 
+import java.util.Set;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // Hashing itself runs on the bounded pool in PasswordHasherImpl, not on request threads
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${ratemycourse.auth.bcrypt-cost:10}") int bcryptCost) {
+        return new BCryptPasswordEncoder(bcryptCost);
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http,
+                                           @Value("${ratemycourse.admin.emails:}") Set<String> adminEmails)
+            throws Exception {
+        // Metrics and the cache endpoints (DELETE /actuator/caches) are for the same admins as /api/admin
+        AuthorizationManager<RequestAuthorizationContext> admin = (authentication, context) ->
+                new AuthorizationDecision(authentication.get() != null
+                        && authentication.get().getPrincipal() instanceof SessionUser user
+                        && adminEmails.contains(user.getEmail()));
+
         http
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> {}) // Use the CORS filter from CorsConfig
@@ -32,6 +48,9 @@ public class SecurityConfig {
                         .requestMatchers("/api/reviews/course/**").permitAll()
                         .requestMatchers("/api/reviews/professor/**").permitAll()
                         .requestMatchers("/api/reviews/**").authenticated()
+                        .requestMatchers("/api/admin/**").authenticated()
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").access(admin)
                         .anyRequest().permitAll()
                 )
                 .exceptionHandling(exception -> exception
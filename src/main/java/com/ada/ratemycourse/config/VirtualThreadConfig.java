@@ -0,0 +1,42 @@
+package com.ada.ratemycourse.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Active with spring.threads.virtual.enabled=true, which makes Tomcat run each request on a virtual thread
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceConcurrencyLimiter(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource) {
+                    return bean;
+                }
+
+                // Default to the pool size so callers wait here rather than inside Hikari
+                int poolSize = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+                int maxConcurrency = environment.getProperty("ratemycourse.db.max-concurrency", Integer.class, poolSize);
+                long acquireTimeoutMs = environment.getProperty("ratemycourse.db.acquire-timeout-ms", Long.class, 5000L);
+                return new ConcurrencyLimitedDataSource(dataSource, maxConcurrency, acquireTimeoutMs);
+            }
+        };
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry, Environment environment) {
+        long thresholdMs = environment.getProperty("ratemycourse.virtual-threads.pinned-threshold-ms", Long.class, 20L);
+        return new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(thresholdMs));
+    }
+}
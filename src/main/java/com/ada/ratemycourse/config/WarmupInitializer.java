@@ -0,0 +1,148 @@
+package com.ada.ratemycourse.config;
+
+import com.ada.ratemycourse.dto.CourseResponse;
+import com.ada.ratemycourse.dto.ProfessorResponse;
+import com.ada.ratemycourse.search.CatalogSearchIndex;
+import com.ada.ratemycourse.service.CourseService;
+import com.ada.ratemycourse.service.ProfessorService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// Preloads the search index and the course/professor caches in parallel once stats and leaderboards are
+// rebuilt. Runners finish before Spring Boot reports readiness, so traffic only arrives on warm caches;
+// whatever is still loading when the time budget runs out is abandoned and loads on first request instead.
+@Component
+@Order(2)
+public class WarmupInitializer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupInitializer.class);
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private ProfessorService professorService;
+
+    @Autowired
+    private CatalogSearchIndex searchIndex;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${ratemycourse.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ratemycourse.warmup.timeout:30s}")
+    private Duration timeout;
+
+    // Most reviewed courses and professors whose detail pages are loaded ahead of time
+    @Value("${ratemycourse.warmup.details:500}")
+    private int details;
+
+    private record Step(String name, Runnable loader) {
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (!enabled) {
+            searchIndex.rebuild();
+            return;
+        }
+
+        List<Step> steps = List.of(
+                new Step("search index", searchIndex::rebuild),
+                new Step("courses", this::loadCourses),
+                new Step("professors", this::loadProfessors));
+        Set<String> pending = ConcurrentHashMap.newKeySet();
+        steps.forEach(step -> pending.add(step.name()));
+
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        CompletionService<Step> completion = new ExecutorCompletionService<>(executor);
+        try {
+            for (Step step : steps) {
+                completion.submit(() -> {
+                    try {
+                        step.loader().run();
+                        return step;
+                    } finally {
+                        pending.remove(step.name());
+                    }
+                });
+            }
+
+            for (int done = 1; done <= steps.size(); done++) {
+                Future<Step> future = completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (future == null) {
+                    log.warn("Warm-up budget of {} used up, serving without: {}", timeout, pending);
+                    return;
+                }
+                try {
+                    log.info("Warm-up {}/{}: {} ready after {} ms", done, steps.size(), future.get().name(),
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                } catch (ExecutionException e) {
+                    // A cold cache is slower, not wrong; keep starting
+                    log.warn("Warm-up {}/{}: a step failed", done, steps.size(), e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // The list cache, the per-school snapshots and the detail cache of the most reviewed courses;
+    // a course's detail is the same response the list holds, so it is put straight into the cache
+    private void loadCourses() {
+        List<CourseResponse> courses = courseService.getAllCourses();
+        courses.stream().map(CourseResponse::getSchool).distinct().forEach(courseService::getCoursesBySchool);
+
+        Cache cache = cacheManager.getCache(CacheConfig.COURSES);
+        if (cache != null) {
+            courses.stream()
+                    .sorted(Comparator.comparing(CourseResponse::getReviewCount,
+                            Comparator.nullsFirst(Comparator.<Integer>naturalOrder())).reversed())
+                    .limit(details)
+                    .forEach(course -> cache.put(course.getCode(), course));
+        }
+    }
+
+    // Professor details carry their courses, which the list does not, so those go through the service
+    private void loadProfessors() {
+        List<ProfessorResponse> professors = professorService.getAllProfessors();
+        professors.stream().map(ProfessorResponse::getSchool).distinct()
+                .forEach(professorService::getProfessorsBySchool);
+
+        List<Long> mostReviewed = professors.stream()
+                .sorted(Comparator.comparing(ProfessorResponse::getReviewCount,
+                        Comparator.nullsFirst(Comparator.<Integer>naturalOrder())).reversed())
+                .limit(details)
+                .map(ProfessorResponse::getId)
+                .toList();
+        for (Long id : mostReviewed) {
+            if (Thread.currentThread().isInterrupted()) break;
+            professorService.getProfessorById(id);
+        }
+    }
+}
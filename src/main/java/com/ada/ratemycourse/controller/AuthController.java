@@ -2,22 +2,20 @@ package com.ada.ratemycourse.controller;
 
 import com.ada.ratemycourse.dto.AuthResponse;
 import com.ada.ratemycourse.dto.LoginRequest;
+import com.ada.ratemycourse.dto.SessionUser;
 import com.ada.ratemycourse.dto.SignupRequest;
 import com.ada.ratemycourse.dto.UserResponse;
+import com.ada.ratemycourse.exception.PasswordHashingBusyException;
 import com.ada.ratemycourse.service.AuthService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
@@ -29,25 +27,15 @@ public class AuthController {
     public ResponseEntity<?> signup(@Valid @RequestBody SignupRequest request,
                                     HttpServletRequest httpRequest) {
         try {
-            AuthResponse response = authService.signup(request);
-
-            Authentication authentication =
-                    new UsernamePasswordAuthenticationToken(
-                            request.getEmail(),
-                            null,
-                            List.of() // role-lar varsa buraya
-                    );
-
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-            // Create session
-            HttpSession session = httpRequest.getSession(true);
-            session.setAttribute(
-                    "SPRING_SECURITY_CONTEXT",
-                    SecurityContextHolder.getContext()
-            );
-            session.setAttribute("user_email", request.getEmail());
+            SessionUser user = authService.signup(request);
+            SessionPrincipals.signIn(httpRequest, user);
 
+            AuthResponse response = new AuthResponse(user.getEmail(), "User registered successfully");
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new AuthResponse(null, e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(new AuthResponse(null, e.getMessage()));
@@ -58,25 +46,15 @@ public class AuthController {
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request,
                                    HttpServletRequest httpRequest) {
         try {
-            AuthResponse response = authService.login(request);
-
-            Authentication authentication =
-                    new UsernamePasswordAuthenticationToken(
-                            request.getEmail(),
-                            null,
-                            List.of() // role-lar varsa buraya
-                    );
-
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-            // Create session
-            HttpSession session = httpRequest.getSession(true);
-            session.setAttribute(
-                    "SPRING_SECURITY_CONTEXT",
-                    SecurityContextHolder.getContext()
-            );
-            session.setAttribute("user_email", request.getEmail());
+            SessionUser user = authService.login(request);
+            SessionPrincipals.signIn(httpRequest, user);
 
+            AuthResponse response = new AuthResponse(user.getEmail(), "Login successful");
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new AuthResponse(null, e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new AuthResponse(null, e.getMessage()));
@@ -94,14 +72,12 @@ public class AuthController {
 
     @GetMapping("/current-user")
     public ResponseEntity<?> getCurrentUser(HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
-        if (session == null || session.getAttribute("user_email") == null) {
+        SessionUser user = SessionPrincipals.currentUser(request, authService);
+        if (user == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new AuthResponse(null, "Not authenticated"));
         }
 
-        String email = (String) session.getAttribute("user_email");
-        UserResponse user = authService.getCurrentUser(email);
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok(new UserResponse(user.getId(), user.getEmail()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.ada.ratemycourse.controller;
+
+import com.ada.ratemycourse.dto.SessionUser;
+import com.ada.ratemycourse.importer.ImportFormat;
+import com.ada.ratemycourse.importer.RecordReader;
+import com.ada.ratemycourse.service.AuthService;
+import com.ada.ratemycourse.service.CatalogImportService;
+import com.ada.ratemycourse.service.ReviewExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+// Bulk catalog import and review export, bodies are streamed as text/csv or application/x-ndjson
+@RestController
+@RequestMapping("/api/admin")
+public class CatalogAdminController {
+
+    @Autowired
+    private CatalogImportService catalogImportService;
+
+    @Autowired
+    private ReviewExportService reviewExportService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${ratemycourse.admin.emails:}")
+    private Set<String> adminEmails;
+
+    @PostMapping("/import/{kind}")
+    public ResponseEntity<?> importRecords(@PathVariable String kind, HttpServletRequest request) throws IOException {
+        ResponseEntity<?> denied = requireAdmin(request);
+        if (denied != null) return denied;
+
+        try (RecordReader reader = ImportFormat.of(request.getContentType())
+                .open(request.getInputStream(), objectMapper)) {
+            return ResponseEntity.ok(catalogImportService.importRecords(kind, reader));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/export/reviews")
+    public ResponseEntity<?> exportReviews(@RequestParam(defaultValue = "csv") String format,
+                                           @RequestParam(required = false) String school,
+                                           @RequestParam(required = false) Integer year,
+                                           HttpServletRequest request) {
+        ResponseEntity<?> denied = requireAdmin(request);
+        if (denied != null) return denied;
+
+        ImportFormat exportFormat;
+        try {
+            exportFormat = ImportFormat.of(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        boolean gzip = ConditionalResponses.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+
+        // Rows go straight from the cursor to the socket, nothing is buffered per export
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+                reviewExportService.exportReviews(exportFormat, school, year, gzipOut);
+                gzipOut.finish();
+            } else {
+                reviewExportService.exportReviews(exportFormat, school, year, out);
+            }
+        };
+
+        String extension = exportFormat == ImportFormat.CSV ? "csv" : "ndjson";
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, exportFormat == ImportFormat.CSV
+                        ? "text/csv; charset=UTF-8" : "application/x-ndjson")
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"reviews." + extension + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    private ResponseEntity<?> requireAdmin(HttpServletRequest request) {
+        SessionUser user;
+        try {
+            user = SessionPrincipals.requireUser(request, authService);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        }
+        if (!adminEmails.contains(user.getEmail())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only catalog admins can use this endpoint");
+        }
+        return null;
+    }
+}
@@ -0,0 +1,70 @@
+package com.ada.ratemycourse.controller;
+
+import com.ada.ratemycourse.cache.JsonBytesCache;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+// Answers If-None-Match from a precomputed ETag before the body supplier runs
+final class ConditionalResponses {
+
+    static final String GZIP_SUFFIX = "-gz";
+
+    private ConditionalResponses() {
+    }
+
+    static <T> ResponseEntity<T> withETag(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return null; // 304 already written
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(body.get());
+    }
+
+    // Like withETag, but the body is written as cached JSON bytes, gzipped when the client accepts it.
+    // The gzip representation gets its own strong tag, as validators must differ between content codings
+    static ResponseEntity<byte[]> withCachedJson(WebRequest request, String etag, String key,
+                                                 JsonBytesCache cache, Supplier<?> body) {
+        // checkNotModified would also stamp the identity tag on a gzip 200, so both tags are matched here
+        String gzipETag = etag + GZIP_SUFFIX;
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        for (String candidate : new String[]{etag, gzipETag}) {
+            if (ifNoneMatch != null && ifNoneMatch.contains("\"" + candidate + "\"")) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(candidate)
+                        .cacheControl(CacheControl.noCache())
+                        .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                        .build();
+            }
+        }
+
+        JsonBytesCache.EncodedJson encoded = cache.get(key + "@" + etag, body);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (encoded.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return response.eTag(gzipETag).header(HttpHeaders.CONTENT_ENCODING, "gzip").body(encoded.gzip());
+        }
+        return response.eTag(etag).body(encoded.json());
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
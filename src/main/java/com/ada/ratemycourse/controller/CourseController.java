@@ -1,10 +1,20 @@
 package com.ada.ratemycourse.controller;
 
+import com.ada.ratemycourse.cache.CatalogVersions;
+import com.ada.ratemycourse.cache.JsonBytesCache;
 import com.ada.ratemycourse.dto.CourseResponse;
+import com.ada.ratemycourse.dto.PageResponse;
+import com.ada.ratemycourse.dto.RatingHistogramResponse;
 import com.ada.ratemycourse.service.CourseService;
+import com.ada.ratemycourse.service.LeaderboardService;
+import com.ada.ratemycourse.service.RatingHistogramService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
 import java.util.List;
 
@@ -15,23 +25,85 @@ public class CourseController {
     @Autowired
     private CourseService courseService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private JsonBytesCache jsonBytesCache;
+
+    @Autowired
+    private RatingHistogramService ratingHistogramService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
     @GetMapping
-    public ResponseEntity<List<CourseResponse>> getAllCourses() {
-        return ResponseEntity.ok(courseService.getAllCourses());
+    public ResponseEntity<List<CourseResponse>> getAllCourses(WebRequest request) {
+        return ConditionalResponses.withETag(request, catalogVersions.catalogTag(),
+                () -> courseService.getAllCourses());
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<PageResponse<CourseResponse>> getCoursesPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) Long cursor,
+            WebRequest request) {
+        return ConditionalResponses.withETag(request, catalogVersions.catalogTag(),
+                () -> courseService.getCoursesPage(cursor, limit));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCourses() {
+        StreamingResponseBody body = out -> {
+            NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+            courseService.forEachCourse(writer::write);
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/{code}")
-    public ResponseEntity<CourseResponse> getCourseByCode(@PathVariable String code) {
-        return ResponseEntity.ok(courseService.getCourseByCode(code));
+    public ResponseEntity<byte[]> getCourseByCode(@PathVariable String code, WebRequest request) {
+        return ConditionalResponses.withCachedJson(request, catalogVersions.courseTag(code), "course:" + code,
+                jsonBytesCache, () -> courseService.getCourseByCode(code));
+    }
+
+    // Ranked by Bayesian-adjusted rating or ease, e.g. /top?school=SITE&sort=easiest&limit=20
+    @GetMapping("/top")
+    public ResponseEntity<?> getTopCourses(@RequestParam(required = false) String school,
+            @RequestParam(required = false) String department,
+            @RequestParam(defaultValue = "best") String sort,
+            @RequestParam(defaultValue = "20") int limit,
+            WebRequest request) {
+        try {
+            return ConditionalResponses.withETag(request, catalogVersions.catalogTag(),
+                    () -> leaderboardService.topCourses(school, department, sort, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<CourseResponse>> searchCourses(@RequestParam String query) {
-        return ResponseEntity.ok(courseService.searchCourses(query));
+    public ResponseEntity<List<CourseResponse>> searchCourses(@RequestParam String query, WebRequest request) {
+        return ConditionalResponses.withETag(request, catalogVersions.catalogTag(),
+                () -> courseService.searchCourses(query));
     }
 
     @GetMapping("/school/{school}")
-    public ResponseEntity<List<CourseResponse>> getCoursesBySchool(@PathVariable String school) {
-        return ResponseEntity.ok(courseService.getCoursesBySchool(school));
+    public ResponseEntity<byte[]> getCoursesBySchool(@PathVariable String school, WebRequest request) {
+        return ConditionalResponses.withCachedJson(request, catalogVersions.courseSchoolTag(school),
+                "course-school:" + school, jsonBytesCache, () -> courseService.getCoursesBySchool(school));
+    }
+
+    // Counts per star, difficulty and term, read from maintained counters instead of the reviews
+    @GetMapping("/{code}/histogram")
+    public ResponseEntity<RatingHistogramResponse> getCourseHistogram(@PathVariable String code, WebRequest request) {
+        return ConditionalResponses.withETag(request, catalogVersions.courseTag(code),
+                () -> ratingHistogramService.getCourseHistogram(code));
     }
 }
\ No newline at end of file
@@ -1,10 +1,20 @@
 package com.ada.ratemycourse.controller;
 
+import com.ada.ratemycourse.cache.CatalogVersions;
+import com.ada.ratemycourse.cache.JsonBytesCache;
+import com.ada.ratemycourse.dto.PageResponse;
 import com.ada.ratemycourse.dto.ProfessorResponse;
+import com.ada.ratemycourse.dto.RatingHistogramResponse;
+import com.ada.ratemycourse.service.LeaderboardService;
 import com.ada.ratemycourse.service.ProfessorService;
+import com.ada.ratemycourse.service.RatingHistogramService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
 import java.util.List;
 
@@ -15,28 +25,91 @@ public class ProfessorController {
     @Autowired
     private ProfessorService professorService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private JsonBytesCache jsonBytesCache;
+
+    @Autowired
+    private RatingHistogramService ratingHistogramService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
     @GetMapping
-    public ResponseEntity<List<ProfessorResponse>> getAllProfessors() {
-        return ResponseEntity.ok(professorService.getAllProfessors());
+    public ResponseEntity<List<ProfessorResponse>> getAllProfessors(WebRequest request) {
+        return ConditionalResponses.withETag(request, catalogVersions.catalogTag(),
+                () -> professorService.getAllProfessors());
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<PageResponse<ProfessorResponse>> getProfessorsPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) Long cursor,
+            WebRequest request) {
+        return ConditionalResponses.withETag(request, catalogVersions.catalogTag(),
+                () -> professorService.getProfessorsPage(cursor, limit));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamProfessors() {
+        StreamingResponseBody body = out -> {
+            NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+            professorService.forEachProfessor(writer::write);
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/{name}")
-    public ResponseEntity<ProfessorResponse> getProfessorByName(@PathVariable String name) {
-        return ResponseEntity.ok(professorService.getProfessorByName(name));
+    public ResponseEntity<byte[]> getProfessorByName(@PathVariable String name, WebRequest request) {
+        return ConditionalResponses.withCachedJson(request, catalogVersions.professorNameTag(name),
+                "professor-name:" + name, jsonBytesCache, () -> professorService.getProfessorByName(name));
     }
 
     @GetMapping("/id/{id}")
-    public ResponseEntity<ProfessorResponse> getProfessorById(@PathVariable Long id) {
-        return ResponseEntity.ok(professorService.getProfessorById(id));
+    public ResponseEntity<byte[]> getProfessorById(@PathVariable Long id, WebRequest request) {
+        return ConditionalResponses.withCachedJson(request, catalogVersions.professorTag(id), "professor:" + id,
+                jsonBytesCache, () -> professorService.getProfessorById(id));
+    }
+
+    // Ranked by Bayesian-adjusted rating or ease, e.g. /top?school=SITE&sort=easiest&limit=20
+    @GetMapping("/top")
+    public ResponseEntity<?> getTopProfessors(@RequestParam(required = false) String school,
+            @RequestParam(required = false) String department,
+            @RequestParam(defaultValue = "best") String sort,
+            @RequestParam(defaultValue = "20") int limit,
+            WebRequest request) {
+        try {
+            return ConditionalResponses.withETag(request, catalogVersions.catalogTag(),
+                    () -> leaderboardService.topProfessors(school, department, sort, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<ProfessorResponse>> searchProfessors(@RequestParam String query) {
-        return ResponseEntity.ok(professorService.searchProfessors(query));
+    public ResponseEntity<List<ProfessorResponse>> searchProfessors(@RequestParam String query,
+                                                                    WebRequest request) {
+        return ConditionalResponses.withETag(request, catalogVersions.catalogTag(),
+                () -> professorService.searchProfessors(query));
     }
 
     @GetMapping("/school/{school}")
-    public ResponseEntity<List<ProfessorResponse>> getProfessorsBySchool(@PathVariable String school) {
-        return ResponseEntity.ok(professorService.getProfessorsBySchool(school));
+    public ResponseEntity<byte[]> getProfessorsBySchool(@PathVariable String school, WebRequest request) {
+        return ConditionalResponses.withCachedJson(request, catalogVersions.professorSchoolTag(school),
+                "professor-school:" + school, jsonBytesCache, () -> professorService.getProfessorsBySchool(school));
+    }
+
+    @GetMapping("/id/{id}/histogram")
+    public ResponseEntity<RatingHistogramResponse> getProfessorHistogram(@PathVariable Long id, WebRequest request) {
+        return ConditionalResponses.withETag(request, catalogVersions.professorTag(id),
+                () -> ratingHistogramService.getProfessorHistogram(id));
     }
 }
@@ -1,17 +1,25 @@
 package com.ada.ratemycourse.controller;
 
+import com.ada.ratemycourse.cache.CatalogVersions;
+import com.ada.ratemycourse.dto.PageResponse;
 import com.ada.ratemycourse.dto.ReviewRequest;
 import com.ada.ratemycourse.dto.ReviewResponse;
-import com.ada.ratemycourse.model.User;
+import com.ada.ratemycourse.dto.SessionUser;
+import com.ada.ratemycourse.exception.ReviewQueueFullException;
 import com.ada.ratemycourse.service.AuthService;
 import com.ada.ratemycourse.service.ReviewService;
+import com.ada.ratemycourse.service.ReviewWriteQueue;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
 import java.util.List;
 
@@ -25,60 +33,131 @@ public class ReviewController {
     @Autowired
     private AuthService authService;
 
-    private String getUserEmailFromSession(HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
-        if (session == null) {
-            throw new RuntimeException("Not authenticated");
-        }
-        String email = (String) session.getAttribute("user_email");
-        if (email == null) {
-            throw new RuntimeException("Not authenticated");
-        }
-        return email;
+    @Autowired
+    private ReviewWriteQueue reviewWriteQueue;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    // Anonymous readers get null, reviews are still listed but none is editable
+    private String getOptionalUserEmail(HttpServletRequest request) {
+        SessionUser user = SessionPrincipals.currentUser(request, authService);
+        return user != null ? user.getEmail() : null;
     }
 
     @PostMapping
     public ResponseEntity<?> createReview(@Valid @RequestBody ReviewRequest reviewRequest,
                                           HttpServletRequest request) {
         try {
-            String email = getUserEmailFromSession(request);
-            User currentUser = authService.getUserByEmail(email);
+            SessionUser currentUser = SessionPrincipals.requireUser(request, authService);
+            if (reviewWriteQueue.isEnabled()) {
+                return ResponseEntity.accepted().body(reviewWriteQueue.submit(reviewRequest, currentUser));
+            }
             ReviewResponse response = reviewService.createReview(reviewRequest, currentUser);
             return ResponseEntity.ok(response);
+        } catch (ReviewQueueFullException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(e.getMessage());
         }
     }
 
+    // Status of a review accepted by the async write path
+    @GetMapping("/receipts/{receiptId}")
+    public ResponseEntity<?> getReceipt(@PathVariable String receiptId, HttpServletRequest request) {
+        SessionUser currentUser;
+        try {
+            currentUser = SessionPrincipals.requireUser(request, authService);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(e.getMessage());
+        }
+
+        try {
+            return ResponseEntity.ok(reviewWriteQueue.getReceipt(receiptId, currentUser));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
     @GetMapping("/course/{courseId}")
     public ResponseEntity<List<ReviewResponse>> getReviewsForCourse(
+            @PathVariable Long courseId,
+            HttpServletRequest request,
+            WebRequest webRequest) {
+
+        String email = getOptionalUserEmail(request);
+        return ConditionalResponses.withETag(webRequest, catalogVersions.courseReviewsTag(courseId, email),
+                () -> reviewService.getReviewsForCourse(courseId, email));
+    }
+
+    @GetMapping(value = "/course/{courseId}", params = "limit")
+    public ResponseEntity<PageResponse<ReviewResponse>> getReviewsForCoursePage(
+            @PathVariable Long courseId,
+            @RequestParam int limit,
+            @RequestParam(required = false) Long cursor,
+            HttpServletRequest request,
+            WebRequest webRequest) {
+
+        String email = getOptionalUserEmail(request);
+        return ConditionalResponses.withETag(webRequest, catalogVersions.courseReviewsTag(courseId, email),
+                () -> reviewService.getReviewsForCoursePage(courseId, email, cursor, limit));
+    }
+
+    @GetMapping(value = "/course/{courseId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamReviewsForCourse(
             @PathVariable Long courseId,
             HttpServletRequest request) {
 
-        String email = null;
-        HttpSession session = request.getSession(false);
-        if (session != null) {
-            email = (String) session.getAttribute("user_email");
-        }
+        String email = getOptionalUserEmail(request);
 
-        List<ReviewResponse> reviews = reviewService.getReviewsForCourse(courseId, email);
-        return ResponseEntity.ok(reviews);
+        StreamingResponseBody body = out -> {
+            NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+            reviewService.forEachReviewForCourse(courseId, email, writer::write);
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/professor/{professorId}")
     public ResponseEntity<List<ReviewResponse>> getReviewsForProfessor(
             @PathVariable Long professorId,
-            HttpServletRequest request) {
+            HttpServletRequest request,
+            WebRequest webRequest) {
 
-        String email = null;
-        HttpSession session = request.getSession(false);
-        if (session != null) {
-            email = (String) session.getAttribute("user_email");
+        String email = getOptionalUserEmail(request);
+        return ConditionalResponses.withETag(webRequest, catalogVersions.professorReviewsTag(professorId, email),
+                () -> reviewService.getReviewsForProfessor(professorId, email));
+    }
+
+    // The logged-in user's own reviews, newest first
+    @GetMapping("/me")
+    public ResponseEntity<?> getMyReviews(@RequestParam(defaultValue = "20") int limit,
+                                          @RequestParam(required = false) String cursor,
+                                          HttpServletRequest request) {
+        SessionUser currentUser;
+        try {
+            currentUser = SessionPrincipals.requireUser(request, authService);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(e.getMessage());
         }
 
-        List<ReviewResponse> reviews = reviewService.getReviewsForProfessor(professorId, email);
-        return ResponseEntity.ok(reviews);
+        try {
+            return ResponseEntity.ok(reviewService.getReviewsForUserPage(currentUser, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @PutMapping("/{reviewId}")
@@ -86,8 +165,7 @@ public class ReviewController {
                                           @Valid @RequestBody ReviewRequest reviewRequest,
                                           HttpServletRequest request) {
         try {
-            String email = getUserEmailFromSession(request);
-            User currentUser = authService.getUserByEmail(email);
+            SessionUser currentUser = SessionPrincipals.requireUser(request, authService);
             ReviewResponse response = reviewService.updateReview(reviewId, reviewRequest, currentUser);
             return ResponseEntity.ok(response);
         } catch (RuntimeException e) {
@@ -100,8 +178,7 @@ public class ReviewController {
     public ResponseEntity<?> deleteReview(@PathVariable Long reviewId,
                                           HttpServletRequest request) {
         try {
-            String email = getUserEmailFromSession(request);
-            User currentUser = authService.getUserByEmail(email);
+            SessionUser currentUser = SessionPrincipals.requireUser(request, authService);
             reviewService.deleteReview(reviewId, currentUser);
             return ResponseEntity.noContent().build();
         } catch (RuntimeException e) {
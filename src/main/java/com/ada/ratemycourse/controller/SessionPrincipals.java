@@ -0,0 +1,60 @@
+package com.ada.ratemycourse.controller;
+
+import com.ada.ratemycourse.dto.SessionUser;
+import com.ada.ratemycourse.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+// The logged-in user is stored as the principal of the session's security context, so
+// resolving it on later requests needs no user lookup
+final class SessionPrincipals {
+
+    private static final String USER_EMAIL = "user_email";
+
+    private SessionPrincipals() {
+    }
+
+    static void signIn(HttpServletRequest request, SessionUser user) {
+        Authentication authentication =
+                new UsernamePasswordAuthenticationToken(
+                        user,
+                        null,
+                        List.of() // role-lar varsa buraya
+                );
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        // Create session
+        HttpSession session = request.getSession(true);
+        session.setAttribute(
+                "SPRING_SECURITY_CONTEXT",
+                SecurityContextHolder.getContext()
+        );
+        session.setAttribute(USER_EMAIL, user.getEmail());
+    }
+
+    // Null when nobody is logged in
+    static SessionUser currentUser(HttpServletRequest request, AuthService authService) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof SessionUser user) {
+            return user;
+        }
+
+        // Sessions from before the principal was stored only carry the email, resolved through the user cache
+        HttpSession session = request.getSession(false);
+        String email = session != null ? (String) session.getAttribute(USER_EMAIL) : null;
+        return email != null ? authService.getSessionUser(email) : null;
+    }
+
+    static SessionUser requireUser(HttpServletRequest request, AuthService authService) {
+        SessionUser user = currentUser(request, authService);
+        if (user == null) {
+            throw new RuntimeException("Not authenticated");
+        }
+        return user;
+    }
+}
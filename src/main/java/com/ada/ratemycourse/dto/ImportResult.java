@@ -0,0 +1,16 @@
+package com.ada.ratemycourse.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportResult {
+    private String kind;
+    private long imported;
+    private long skipped;
+    private long elapsedMs;
+    private long rowsPerSecond;
+    private List<String> errors = new ArrayList<>(); // first errors only, with their input line
+}
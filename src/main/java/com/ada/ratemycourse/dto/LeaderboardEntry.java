@@ -0,0 +1,12 @@
+package com.ada.ratemycourse.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class LeaderboardEntry<T> {
+    private int rank;
+    private double score; // Bayesian-adjusted average the ranking is ordered by
+    private T item;
+}
@@ -0,0 +1,19 @@
+package com.ada.ratemycourse.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class PageResponse<T> {
+    public static final int MAX_LIMIT = 100;
+
+    private List<T> items;
+    private String next; // cursor for the following page, null on the last one
+
+    public static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
@@ -0,0 +1,15 @@
+package com.ada.ratemycourse.dto;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Data
+public class RatingHistogramResponse {
+    private long reviewCount;
+    private Map<String, Long> ratings = new LinkedHashMap<>(); // "1".."5", whole stars rounded down
+    private Map<String, Long> difficulties = new LinkedHashMap<>(); // Easy, Moderate, Hard
+    private Map<String, Long> terms = new TreeMap<>(); // "2024-Fall", sorted by year
+}
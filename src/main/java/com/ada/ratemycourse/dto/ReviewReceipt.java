@@ -0,0 +1,16 @@
+package com.ada.ratemycourse.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ReviewReceipt {
+    public static final String QUEUED = "QUEUED";
+    public static final String SAVED = "SAVED";
+    public static final String FAILED = "FAILED";
+
+    private String receiptId;
+    private String status; // QUEUED, SAVED or FAILED
+    private String error; // set when FAILED
+}
@@ -0,0 +1,16 @@
+package com.ada.ratemycourse.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+// Authenticated principal kept in the security context, resolved once at login
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionUser implements Serializable {
+    private Long id;
+    private String email;
+}
@@ -0,0 +1,30 @@
+package com.ada.ratemycourse.event;
+
+import com.ada.ratemycourse.model.Course;
+import com.ada.ratemycourse.model.Professor;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Published by SearchIndexEntityListener for every course or professor row written; courseId is
+// null for professor changes. Carries copies of the indexed fields so it can be applied after commit.
+@Data
+@AllArgsConstructor
+public class CatalogEntityChangedEvent {
+    private Long courseId;
+    private String courseCode;
+    private String courseTitle;
+    private Long professorId;
+    private String professorName;
+    private boolean removed;
+
+    public static CatalogEntityChangedEvent of(Course course, boolean removed) {
+        Professor professor = course.getProfessor();
+        return new CatalogEntityChangedEvent(course.getId(), course.getCode(), course.getTitle(),
+                professor != null ? professor.getId() : null, professor != null ? professor.getName() : null,
+                removed);
+    }
+
+    public static CatalogEntityChangedEvent of(Professor professor, boolean removed) {
+        return new CatalogEntityChangedEvent(null, null, null, professor.getId(), professor.getName(), removed);
+    }
+}
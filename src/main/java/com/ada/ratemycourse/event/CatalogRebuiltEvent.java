@@ -0,0 +1,12 @@
+package com.ada.ratemycourse.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Published after bulk changes that bypass the per-review events, e.g. a catalog import;
+// in-memory read models rebuild from the database instead of patching entries
+@Data
+@AllArgsConstructor
+public class CatalogRebuiltEvent {
+    private String reason;
+}
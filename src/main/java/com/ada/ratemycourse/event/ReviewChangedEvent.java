@@ -0,0 +1,18 @@
+package com.ada.ratemycourse.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.stream.Stream;
+
+// Published by ReviewServiceImpl for every review write; before is null on create, after is null on delete
+@Data
+@AllArgsConstructor
+public class ReviewChangedEvent {
+    private ReviewSnapshot before;
+    private ReviewSnapshot after;
+
+    public Stream<ReviewSnapshot> snapshots() {
+        return Stream.of(before, after).filter(snapshot -> snapshot != null);
+    }
+}
@@ -0,0 +1,58 @@
+package com.ada.ratemycourse.event;
+
+import com.ada.ratemycourse.model.Course;
+import com.ada.ratemycourse.model.Difficulty;
+import com.ada.ratemycourse.model.Professor;
+import com.ada.ratemycourse.model.Review;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Detached copy of the review fields that derived read models are keyed on
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewSnapshot {
+    private Long reviewId;
+    private Long courseId;
+    private String courseCode;
+    private String courseSchool;
+    private String courseDepartment;
+    private Long professorId; // professor the review is attributed to, see ProfessorRepository
+    private String professorName;
+    private String professorSchool;
+    private Long directProfessorId; // professor set on the review itself
+    private Double rating;
+    private Difficulty difficulty;
+    private String semester;
+    private Integer year;
+
+    public static ReviewSnapshot of(Review review) {
+        ReviewSnapshot snapshot = new ReviewSnapshot();
+        snapshot.setReviewId(review.getId());
+        snapshot.setRating(review.getRating());
+        snapshot.setDifficulty(review.getDifficulty());
+        snapshot.setSemester(review.getSemester());
+        snapshot.setYear(review.getYear());
+
+        Course course = review.getCourse();
+        Professor professor = review.getProfessor();
+        if (course != null) {
+            snapshot.setCourseId(course.getId());
+            snapshot.setCourseCode(course.getCode());
+            snapshot.setCourseSchool(course.getSchool());
+            snapshot.setCourseDepartment(course.getDepartment());
+        }
+        if (professor != null) {
+            snapshot.setDirectProfessorId(professor.getId());
+        }
+
+        Professor attributed = course != null ? course.getProfessor() : professor;
+        if (attributed != null) {
+            snapshot.setProfessorId(attributed.getId());
+            snapshot.setProfessorName(attributed.getName());
+            snapshot.setProfessorSchool(attributed.getSchool());
+        }
+        return snapshot;
+    }
+}
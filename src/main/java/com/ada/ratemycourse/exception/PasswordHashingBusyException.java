@@ -0,0 +1,7 @@
+package com.ada.ratemycourse.exception;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException() {
+        super("Too many sign-in attempts right now, please retry shortly");
+    }
+}
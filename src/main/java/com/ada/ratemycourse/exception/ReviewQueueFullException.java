@@ -0,0 +1,7 @@
+package com.ada.ratemycourse.exception;
+
+public class ReviewQueueFullException extends RuntimeException {
+    public ReviewQueueFullException() {
+        super("Too many reviews are being submitted, please retry shortly");
+    }
+}
@@ -0,0 +1,99 @@
+package com.ada.ratemycourse.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// RFC 4180 CSV with a header row; quoted fields may contain commas, doubled quotes and line breaks
+class CsvRecordReader implements RecordReader {
+
+    private final Reader in;
+    private final String[] header;
+    private long line;
+    private long recordLine;
+
+    CsvRecordReader(Reader in) throws IOException {
+        this.in = new BufferedReader(in);
+        List<String> columns = readRow();
+        if (columns == null) {
+            throw new IllegalArgumentException("CSV input is empty");
+        }
+        header = new String[columns.size()];
+        for (int i = 0; i < header.length; i++) {
+            // Header names are matched case-insensitively, a leading byte order mark is dropped
+            header[i] = columns.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        List<String> row;
+        do {
+            row = readRow();
+        } while (row != null && row.size() == 1 && row.get(0).isEmpty());
+        if (row == null) return null;
+
+        Map<String, String> record = new HashMap<>();
+        for (int i = 0; i < header.length && i < row.size(); i++) {
+            String value = row.get(i).trim();
+            record.put(header[i], value.isEmpty() ? null : value);
+        }
+        return record;
+    }
+
+    @Override
+    public long line() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private List<String> readRow() throws IOException {
+        int c = in.read();
+        if (c == -1) return null;
+
+        recordLine = ++line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    int next = in.read();
+                    if (next != '"') {
+                        // Closing quote, the next character is handled as unquoted
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                    field.append('"');
+                } else {
+                    if (c == '\n') line++;
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.ada.ratemycourse.importer;
+
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    // From a Content-Type header or a file name
+    public static ImportFormat of(String contentTypeOrFileName) {
+        String value = contentTypeOrFileName != null ? contentTypeOrFileName.toLowerCase(Locale.ROOT) : "";
+        if (value.contains("csv")) return CSV;
+        if (value.contains("ndjson") || value.contains("jsonl")) return NDJSON;
+        throw new IllegalArgumentException("Expected text/csv or application/x-ndjson, got: " + contentTypeOrFileName);
+    }
+
+    public RecordReader open(InputStream in, ObjectMapper objectMapper) throws IOException {
+        InputStreamReader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+        return this == CSV ? new CsvRecordReader(reader) : new NdjsonRecordReader(reader, objectMapper);
+    }
+}
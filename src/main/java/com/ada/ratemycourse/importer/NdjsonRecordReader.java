@@ -0,0 +1,56 @@
+package com.ada.ratemycourse.importer;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// One flat JSON object per line, keyed like the CSV columns
+class NdjsonRecordReader implements RecordReader {
+
+    private final BufferedReader in;
+    private final ObjectMapper objectMapper;
+    private long line;
+
+    NdjsonRecordReader(Reader in, ObjectMapper objectMapper) {
+        this.in = new BufferedReader(in);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        String text;
+        do {
+            text = in.readLine();
+            line++;
+        } while (text != null && text.isBlank());
+        if (text == null) return null;
+
+        Map<?, ?> values;
+        try {
+            values = objectMapper.readValue(text, Map.class);
+        } catch (JacksonException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+        }
+
+        Map<String, String> record = new HashMap<>();
+        values.forEach((key, value) -> record.put(key.toString().toLowerCase(Locale.ROOT),
+                value != null ? value.toString() : null));
+        return record;
+    }
+
+    @Override
+    public long line() {
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,15 @@
+package com.ada.ratemycourse.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+// Streams import records one at a time as column name -> value
+public interface RecordReader extends Closeable {
+
+    // Null at the end of the input; throws IllegalArgumentException for a record that cannot be parsed
+    Map<String, String> next() throws IOException;
+
+    // Input line the last record started on, for error messages
+    long line();
+}
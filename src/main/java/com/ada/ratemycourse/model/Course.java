@@ -1,5 +1,6 @@
 package com.ada.ratemycourse.model;
 
+import com.ada.ratemycourse.search.SearchIndexEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -9,6 +10,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners(SearchIndexEntityListener.class)
 @Table(name = "courses")
 @Data
 @NoArgsConstructor
@@ -0,0 +1,53 @@
+package com.ada.ratemycourse.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Materialized review aggregates per course, kept in sync by ReviewServiceImpl
+@Entity
+@Table(name = "course_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseStats {
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private double ratingSum;
+
+    @Column(name = "easy_count", nullable = false)
+    private long easyCount;
+
+    @Column(name = "moderate_count", nullable = false)
+    private long moderateCount;
+
+    @Column(name = "hard_count", nullable = false)
+    private long hardCount;
+
+    public CourseStats(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    // Adds (sign 1) or removes (sign -1) one review from the counters
+    public void addReview(int sign, double rating, Difficulty difficulty) {
+        reviewCount += sign;
+        ratingSum += sign * rating;
+        switch (difficulty) {
+            case EASY -> easyCount += sign;
+            case MODERATE -> moderateCount += sign;
+            case HARD -> hardCount += sign;
+        }
+    }
+
+    public Double getAverageRating() {
+        return reviewCount > 0 ? ratingSum / reviewCount : null;
+    }
+}
@@ -0,0 +1,45 @@
+package com.ada.ratemycourse.model;
+
+// Review difficulty; the label is what the API and the reviews.difficulty column carry
+public enum Difficulty {
+    EASY("Easy"),
+    MODERATE("Moderate"),
+    HARD("Hard");
+
+    private static final Difficulty[] VALUES = values();
+
+    private final String label;
+
+    Difficulty(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public static Difficulty fromLabel(String label) {
+        for (Difficulty difficulty : VALUES) {
+            if (difficulty.label.equals(label)) {
+                return difficulty;
+            }
+        }
+        throw new IllegalArgumentException("Unknown difficulty: " + label);
+    }
+
+    // Overall difficulty from bucket counts, null when there is nothing to score
+    public static Difficulty score(long easyCount, long moderateCount, long hardCount) {
+        long total = easyCount + moderateCount + hardCount;
+        if (total == 0) return null;
+
+        double avg = (double) (easyCount * 3 + moderateCount) / total;
+        if (avg >= 2) return EASY;
+        if (avg >= 0.5) return MODERATE;
+        return HARD;
+    }
+
+    public static String scoreLabel(long easyCount, long moderateCount, long hardCount) {
+        Difficulty difficulty = score(easyCount, moderateCount, hardCount);
+        return difficulty != null ? difficulty.label : null;
+    }
+}
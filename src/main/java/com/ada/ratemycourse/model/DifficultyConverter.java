@@ -0,0 +1,19 @@
+package com.ada.ratemycourse.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Keeps the existing 'Easy'/'Moderate'/'Hard' column values, so stored rows and native aggregates are unchanged
+@Converter(autoApply = true)
+public class DifficultyConverter implements AttributeConverter<Difficulty, String> {
+
+    @Override
+    public String convertToDatabaseColumn(Difficulty difficulty) {
+        return difficulty != null ? difficulty.getLabel() : null;
+    }
+
+    @Override
+    public Difficulty convertToEntityAttribute(String label) {
+        return label != null ? Difficulty.fromLabel(label) : null;
+    }
+}
@@ -0,0 +1,58 @@
+package com.ada.ratemycourse.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+// One review counter of a course or professor histogram, e.g. (course, 12, rating, "4") -> 37
+@Entity
+@Table(name = "rating_histograms")
+@IdClass(RatingHistogramBucket.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingHistogramBucket {
+
+    public static final String COURSE = "course";
+    public static final String PROFESSOR = "professor";
+
+    public static final String RATING = "rating";
+    public static final String DIFFICULTY = "difficulty";
+    public static final String TERM = "term";
+
+    @Id
+    @Column(name = "subject_type", length = 16)
+    private String subjectType;
+
+    @Id
+    @Column(name = "subject_id")
+    private Long subjectId;
+
+    @Id
+    @Column(length = 16)
+    private String dimension;
+
+    @Id
+    @Column(length = 32)
+    private String bucket;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String subjectType;
+        private Long subjectId;
+        private String dimension;
+        private String bucket;
+    }
+}
@@ -34,7 +34,7 @@ public class Review {
     private Double rating;
 
     @Column(nullable = false)
-    private String difficulty; // Easy, Moderate, Hard
+    private Difficulty difficulty;
 
     @Column(nullable = false, length = 2000)
     private String text;
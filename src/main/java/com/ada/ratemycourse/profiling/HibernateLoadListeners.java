@@ -0,0 +1,39 @@
+package com.ada.ratemycourse.profiling;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Counts entities hydrated and lazy collections initialized for the current request
+@Component
+public class HibernateLoadListeners {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> {
+            RequestProfile profile = RequestProfile.current();
+            if (profile != null) {
+                profile.entityLoaded();
+            }
+        });
+        registry.appendListeners(EventType.INIT_COLLECTION, (InitializeCollectionEventListener) event -> {
+            RequestProfile profile = RequestProfile.current();
+            if (profile != null) {
+                profile.collectionInitialized();
+            }
+        });
+    }
+}
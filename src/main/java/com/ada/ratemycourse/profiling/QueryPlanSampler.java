@@ -0,0 +1,139 @@
+package com.ada.ratemycourse.profiling;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Logs the statements of a slow request together with their plans. Runs on its own thread so the
+// slow request is not made slower, and drops samples while a previous one is still being explained.
+@Component
+public class QueryPlanSampler {
+
+    private static final Logger log = LoggerFactory.getLogger("com.ada.ratemycourse.SlowRequests");
+
+    private static final int MAX_EXPLAINED = 5;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(4), runnable -> {
+                Thread thread = new Thread(runnable, "query-plan-sampler");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    // PostgreSQL major version, 0 for other databases
+    private volatile Integer postgresVersion;
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void sample(String handler, long elapsedMs, Map<String, Integer> statements) {
+        List<Map.Entry<String, Integer>> snapshot = List.copyOf(statements.entrySet());
+        executor.execute(() -> log(handler, elapsedMs, snapshot));
+    }
+
+    private void log(String handler, long elapsedMs, List<Map.Entry<String, Integer>> statements) {
+        StringBuilder message = new StringBuilder()
+                .append("Slow request ").append(handler).append(" took ").append(elapsedMs).append(" ms, ")
+                .append(statements.stream().mapToInt(Map.Entry::getValue).sum()).append(" statements");
+
+        // Most repeated statements first, those are the usual N+1 suspects
+        statements.stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(MAX_EXPLAINED)
+                .forEach(entry -> message.append("\n  [").append(entry.getValue()).append("x] ").append(entry.getKey())
+                        .append('\n').append(explain(entry.getKey())));
+        log.warn(message.toString());
+    }
+
+    // PostgreSQL 16+ can plan a statement with unbound parameters via GENERIC_PLAN. Older servers
+    // get the same generic plan from a prepared statement under force_generic_plan, where the NULL
+    // arguments are never looked at. Elsewhere only parameterless statements are explained
+    String explain(String sql) {
+        int version = postgresVersion();
+        List<String> plan;
+        try {
+            if (version >= 16) {
+                plan = jdbcTemplate.queryForList("EXPLAIN (GENERIC_PLAN) " + numberPlaceholders(sql), String.class);
+            } else if (version > 0) {
+                plan = explainPrepared(numberPlaceholders(sql), (int) sql.chars().filter(c -> c == '?').count());
+            } else if (sql.indexOf('?') < 0) {
+                plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+            } else {
+                return "    (no plan: statement has parameters)";
+            }
+        } catch (DataAccessException e) {
+            return "    (no plan: " + e.getMostSpecificCause().getMessage() + ")";
+        }
+        return plan.stream()
+                .map(line -> "    " + line)
+                .collect(Collectors.joining("\n"));
+    }
+
+    // Everything runs on one pooled connection, so the statement and setting are undone before it goes back
+    private List<String> explainPrepared(String sql, int parameters) {
+        String arguments = parameters == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")";
+        return jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET plan_cache_mode = force_generic_plan");
+                try {
+                    statement.execute("PREPARE query_plan_sample AS " + sql);
+                    try (ResultSet rows = statement.executeQuery("EXPLAIN EXECUTE query_plan_sample" + arguments)) {
+                        List<String> plan = new ArrayList<>();
+                        while (rows.next()) {
+                            plan.add(rows.getString(1));
+                        }
+                        return plan;
+                    } finally {
+                        statement.execute("DEALLOCATE query_plan_sample");
+                    }
+                } finally {
+                    statement.execute("RESET plan_cache_mode");
+                }
+            }
+        });
+    }
+
+    private int postgresVersion() {
+        if (postgresVersion == null) {
+            postgresVersion = jdbcTemplate.execute((ConnectionCallback<Integer>) connection ->
+                    connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres")
+                            ? connection.getMetaData().getDatabaseMajorVersion() : 0);
+        }
+        return postgresVersion;
+    }
+
+    private static String numberPlaceholders(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int index = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '?') {
+                numbered.append('$').append(++index);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+}
@@ -0,0 +1,25 @@
+package com.ada.ratemycourse.profiling;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// Adds the time spent inside Spring Data repository methods to the current request
+@Component
+public class RepositoryTimingPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(invocation -> {
+                RequestProfile profile = RequestProfile.current();
+                if (profile != null) {
+                    profile.repositoryInvoked(invocation.getDuration(TimeUnit.NANOSECONDS));
+                }
+            }));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,103 @@
+package com.ada.ratemycourse.profiling;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Counters for the request running on the current thread, filled in by the Hibernate and
+// Spring Data hooks and published by RequestProfilingFilter when the request ends
+public class RequestProfile {
+
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+    private static final int MAX_DISTINCT_STATEMENTS = 50;
+
+    private final long startNanos = System.nanoTime();
+    private String handler;
+    private long handlerStartNanos;
+    private long serializationStartNanos;
+    private long repositoryNanos;
+    private int sqlStatements;
+    private int entitiesLoaded;
+    private int collectionsInitialized;
+    private final Map<String, Integer> statements = new LinkedHashMap<>();
+
+    static RequestProfile start() {
+        RequestProfile profile = new RequestProfile();
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    // Null outside a profiled request, e.g. on the review writer or startup threads
+    public static RequestProfile current() {
+        return CURRENT.get();
+    }
+
+    void handlerStarted(String handler) {
+        this.handler = handler;
+        this.handlerStartNanos = System.nanoTime();
+    }
+
+    void serializationStarted() {
+        if (serializationStartNanos == 0) {
+            serializationStartNanos = System.nanoTime();
+        }
+    }
+
+    void statementPrepared(String sql) {
+        sqlStatements++;
+        if (statements.size() < MAX_DISTINCT_STATEMENTS || statements.containsKey(sql)) {
+            statements.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void entityLoaded() {
+        entitiesLoaded++;
+    }
+
+    void collectionInitialized() {
+        collectionsInitialized++;
+    }
+
+    void repositoryInvoked(long nanos) {
+        repositoryNanos += nanos;
+    }
+
+    String getHandler() {
+        return handler;
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    long getHandlerStartNanos() {
+        return handlerStartNanos;
+    }
+
+    long getSerializationStartNanos() {
+        return serializationStartNanos;
+    }
+
+    long getRepositoryNanos() {
+        return repositoryNanos;
+    }
+
+    int getSqlStatements() {
+        return sqlStatements;
+    }
+
+    int getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+
+    int getCollectionsInitialized() {
+        return collectionsInitialized;
+    }
+
+    Map<String, Integer> getStatements() {
+        return statements;
+    }
+}
@@ -0,0 +1,104 @@
+package com.ada.ratemycourse.profiling;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Publishes one RequestProfile per controller call as request.* histograms tagged with the handler,
+// e.g. /actuator/metrics/request.sql.statements?tag=handler:ProfessorController.getAllProfessors.
+// Streaming (async) responses finish on another thread and are not profiled.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestProfilingFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private QueryPlanSampler queryPlanSampler;
+
+    @Value("${ratemycourse.profiling.slow-request-ms:500}")
+    private long slowRequestMs;
+
+    @Value("${ratemycourse.profiling.slow-sample-rate:0.1}")
+    private double slowSampleRate;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestProfile profile = RequestProfile.start();
+        CountingResponseWrapper counting = new CountingResponseWrapper(response);
+        try {
+            chain.doFilter(request, counting);
+        } finally {
+            RequestProfile.end();
+            if (profile.getHandler() != null && !request.isAsyncStarted()) {
+                record(profile, counting.getBytesWritten());
+            }
+        }
+    }
+
+    private void record(RequestProfile profile, long responseBytes) {
+        long end = System.nanoTime();
+        String handler = profile.getHandler();
+
+        long serializationStart = profile.getSerializationStartNanos() != 0 ? profile.getSerializationStartNanos() : end;
+        long handlerNanos = serializationStart - profile.getHandlerStartNanos();
+        long repositoryNanos = Math.min(profile.getRepositoryNanos(), handlerNanos);
+
+        summary("request.sql.statements", "SQL statements prepared per request", handler).record(profile.getSqlStatements());
+        summary("request.entities.loaded", "Entities hydrated per request", handler).record(profile.getEntitiesLoaded());
+        summary("request.collections.initialized", "Lazy collections initialized per request", handler)
+                .record(profile.getCollectionsInitialized());
+        DistributionSummary.builder("request.response.size")
+                .description("Response body size")
+                .baseUnit("bytes")
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(responseBytes);
+
+        phase(handler, "repository").record(Duration.ofNanos(repositoryNanos));
+        phase(handler, "mapping").record(Duration.ofNanos(handlerNanos - repositoryNanos));
+        phase(handler, "serialization").record(Duration.ofNanos(end - serializationStart));
+
+        long elapsedMs = (end - profile.getStartNanos()) / 1_000_000;
+        if (elapsedMs >= slowRequestMs && ThreadLocalRandom.current().nextDouble() < slowSampleRate) {
+            queryPlanSampler.sample(handler, elapsedMs, profile.getStatements());
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, String handler) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private Timer phase(String handler, String phase) {
+        return Timer.builder("request.phase")
+                .description("Time spent per request phase: repository calls, mapping, serialization")
+                .tag("handler", handler)
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+}
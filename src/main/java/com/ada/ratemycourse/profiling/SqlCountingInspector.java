@@ -0,0 +1,16 @@
+package com.ada.ratemycourse.profiling;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Registered through hibernate.session_factory.statement_inspector, sees every SQL string Hibernate prepares
+public class SqlCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.statementPrepared(sql);
+        }
+        return sql;
+    }
+}
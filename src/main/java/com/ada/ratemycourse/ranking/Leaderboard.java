@@ -0,0 +1,174 @@
+package com.ada.ratemycourse.ranking;
+
+import com.ada.ratemycourse.model.Difficulty;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Predicate;
+
+// Entries ranked per scope (all, a school, a department) by Bayesian-adjusted rating and ease.
+// Each ranking is a skip list ordered by score: a review write re-ranks one entry in O(log n) and
+// a top-k read walks k nodes from either end. The priors are the means over all reviews when the
+// board is built and stay fixed until the next rebuild, so one write never reorders other entries.
+public class Leaderboard<T> {
+
+    public enum Metric {
+        RATING,
+        EASE // same weights as Difficulty.score: Easy 3, Moderate 1, Hard 0
+    }
+
+    private final double priorWeight;
+    private final int minReviews;
+    private final double priorRating;
+    private final double priorEase;
+    private final Map<Long, Entry<T>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, NavigableSet<Ranked>> byRating = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, NavigableSet<Ranked>> byEase = new ConcurrentHashMap<>();
+
+    public Leaderboard(Collection<Entry<T>> loaded, double priorWeight, int minReviews) {
+        this.priorWeight = priorWeight;
+        this.minReviews = minReviews;
+
+        long reviews = 0;
+        double ratingSum = 0;
+        double easeSum = 0;
+        for (Entry<T> entry : loaded) {
+            reviews += entry.reviewCount;
+            ratingSum += entry.ratingSum;
+            easeSum += entry.easeSum();
+        }
+        priorRating = reviews > 0 ? ratingSum / reviews : 0;
+        priorEase = reviews > 0 ? easeSum / reviews : 0;
+
+        for (Entry<T> entry : loaded) {
+            entries.put(entry.id, entry);
+            rank(entry);
+        }
+    }
+
+    // Adds (sign 1) or removes (sign -1) one review; unknown ids are ignored until the next rebuild
+    public void record(Long id, int sign, double rating, Difficulty difficulty) {
+        Entry<T> entry = id != null ? entries.get(id) : null;
+        if (entry == null) return;
+
+        synchronized (entry) {
+            unrank(entry);
+            entry.reviewCount += sign;
+            entry.ratingSum += sign * rating;
+            switch (difficulty) {
+                case EASY -> entry.easyCount += sign;
+                case MODERATE -> entry.moderateCount += sign;
+                case HARD -> entry.hardCount += sign;
+            }
+            rank(entry);
+        }
+    }
+
+    // Highest scores first, or lowest with highestFirst false (e.g. hardest by ease)
+    public List<Entry<T>> top(String scope, Metric metric, boolean highestFirst, int limit,
+                              Predicate<Entry<T>> filter) {
+        NavigableSet<Ranked> ranking = (metric == Metric.RATING ? byRating : byEase).get(scope);
+        List<Entry<T>> top = new ArrayList<>(limit);
+        if (ranking == null) return top;
+
+        Iterator<Ranked> it = highestFirst ? ranking.iterator() : ranking.descendingIterator();
+        while (it.hasNext() && top.size() < limit) {
+            Entry<T> entry = entries.get(it.next().id());
+            if (entry != null && filter.test(entry)) {
+                top.add(entry);
+            }
+        }
+        return top;
+    }
+
+    public double score(Entry<T> entry, Metric metric) {
+        synchronized (entry) {
+            return metric == Metric.RATING
+                    ? (priorWeight * priorRating + entry.ratingSum) / (priorWeight + entry.reviewCount)
+                    : (priorWeight * priorEase + entry.easeSum()) / (priorWeight + entry.reviewCount);
+        }
+    }
+
+    private void rank(Entry<T> entry) {
+        if (entry.reviewCount < minReviews) return;
+
+        entry.rankedRating = new Ranked(score(entry, Metric.RATING), entry.id);
+        entry.rankedEase = new Ranked(score(entry, Metric.EASE), entry.id);
+        for (String scope : entry.scopes) {
+            byRating.computeIfAbsent(scope, key -> new ConcurrentSkipListSet<>()).add(entry.rankedRating);
+            byEase.computeIfAbsent(scope, key -> new ConcurrentSkipListSet<>()).add(entry.rankedEase);
+        }
+    }
+
+    private void unrank(Entry<T> entry) {
+        if (entry.rankedRating == null) return;
+
+        for (String scope : entry.scopes) {
+            byRating.get(scope).remove(entry.rankedRating);
+            byEase.get(scope).remove(entry.rankedEase);
+        }
+        entry.rankedRating = null;
+        entry.rankedEase = null;
+    }
+
+    // Ordered best first, ties broken by id so every key is unique
+    private record Ranked(double score, long id) implements Comparable<Ranked> {
+        @Override
+        public int compareTo(Ranked other) {
+            int byScore = Double.compare(other.score, score);
+            return byScore != 0 ? byScore : Long.compare(id, other.id);
+        }
+    }
+
+    public static final class Entry<T> {
+        private final long id;
+        private final T info;
+        private final List<String> scopes;
+        private long reviewCount;
+        private double ratingSum;
+        private long easyCount;
+        private long moderateCount;
+        private long hardCount;
+        private Ranked rankedRating;
+        private Ranked rankedEase;
+
+        public Entry(long id, T info, List<String> scopes, long reviewCount, double ratingSum,
+                     long easyCount, long moderateCount, long hardCount) {
+            this.id = id;
+            this.info = info;
+            this.scopes = scopes;
+            this.reviewCount = reviewCount;
+            this.ratingSum = ratingSum;
+            this.easyCount = easyCount;
+            this.moderateCount = moderateCount;
+            this.hardCount = hardCount;
+        }
+
+        public T getInfo() {
+            return info;
+        }
+
+        public synchronized long getReviewCount() {
+            return reviewCount;
+        }
+
+        public synchronized Double getAverageRating() {
+            return reviewCount > 0 ? ratingSum / reviewCount : null;
+        }
+
+        public synchronized String getDifficulty() {
+            return Difficulty.scoreLabel(easyCount, moderateCount, hardCount);
+        }
+
+        private double easeSum() {
+            return easyCount * 3 + moderateCount;
+        }
+    }
+}
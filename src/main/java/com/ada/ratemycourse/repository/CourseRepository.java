@@ -1,19 +1,35 @@
 package com.ada.ratemycourse.repository;
 
 import com.ada.ratemycourse.model.Course;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface CourseRepository extends JpaRepository<Course, Long> {
+    @EntityGraph(attributePaths = "professor")
     Optional<Course> findByCode(String code);
+
+    @EntityGraph(attributePaths = "professor")
     List<Course> findBySchool(String school);
+
     List<Course> findByProfessorId(Long professorId);
 
-    @Query("SELECT c FROM Course c WHERE " +
+    @Query("SELECT c FROM Course c JOIN FETCH c.professor")
+    List<Course> findAllWithProfessor();
+
+    @Query("SELECT c FROM Course c JOIN FETCH c.professor WHERE c.id IN :ids")
+    List<Course> findAllWithProfessorByIdIn(Collection<Long> ids);
+
+    @Query("SELECT c FROM Course c JOIN FETCH c.professor WHERE c.id > :after ORDER BY c.id")
+    List<Course> findPageAfter(Long after, Pageable pageable);
+
+    @Query("SELECT c FROM Course c JOIN FETCH c.professor p WHERE " +
             "LOWER(c.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
             "LOWER(c.code) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-            "LOWER(c.professor.name) LIKE LOWER(CONCAT('%', :query, '%'))")
+            "LOWER(p.name) LIKE LOWER(CONCAT('%', :query, '%'))")
     List<Course> searchCourses(String query);
-}
\ No newline at end of file
+}
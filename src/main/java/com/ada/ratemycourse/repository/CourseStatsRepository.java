@@ -0,0 +1,36 @@
+package com.ada.ratemycourse.repository;
+
+import com.ada.ratemycourse.model.CourseStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface CourseStatsRepository extends JpaRepository<CourseStats, Long> {
+
+    // Adds to a course's counters, starting its row from the delta for a course created after the last
+    // rebuild. One statement, so concurrent first reviews of a course cannot collide on the primary key
+    @Modifying
+    @Query(value = "INSERT INTO course_stats " +
+            "(course_id, review_count, rating_sum, easy_count, moderate_count, hard_count) " +
+            "VALUES (:courseId, :countDelta, :ratingDelta, :easyDelta, :moderateDelta, :hardDelta) " +
+            "ON CONFLICT (course_id) DO UPDATE SET " +
+            "review_count = course_stats.review_count + EXCLUDED.review_count, " +
+            "rating_sum = course_stats.rating_sum + EXCLUDED.rating_sum, " +
+            "easy_count = course_stats.easy_count + EXCLUDED.easy_count, " +
+            "moderate_count = course_stats.moderate_count + EXCLUDED.moderate_count, " +
+            "hard_count = course_stats.hard_count + EXCLUDED.hard_count", nativeQuery = true)
+    int applyDelta(Long courseId, long countDelta, double ratingDelta,
+                   long easyDelta, long moderateDelta, long hardDelta);
+
+    // Recomputes every row from the reviews table in a single statement
+    @Modifying
+    @Query(value = "INSERT INTO course_stats " +
+            "(course_id, review_count, rating_sum, easy_count, moderate_count, hard_count) " +
+            "SELECT c.id, COUNT(r.id), COALESCE(SUM(r.rating), 0), " +
+            "SUM(CASE WHEN r.difficulty = 'Easy' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN r.difficulty = 'Moderate' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN r.difficulty = 'Hard' THEN 1 ELSE 0 END) " +
+            "FROM courses c LEFT JOIN reviews r ON r.course_id = c.id " +
+            "GROUP BY c.id", nativeQuery = true)
+    int rebuildFromReviews();
+}
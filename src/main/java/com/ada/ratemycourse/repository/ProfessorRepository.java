@@ -1,16 +1,98 @@
 package com.ada.ratemycourse.repository;
 
 import com.ada.ratemycourse.model.Professor;
+import com.ada.ratemycourse.repository.projection.ProfessorCourseRow;
+import com.ada.ratemycourse.repository.projection.ProfessorSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ProfessorRepository extends JpaRepository<Professor, Long> {
+
+    // A review counts for the professor of its course, or for the professor it names when it has no course.
+    // The two cases are aggregated per professor through their own indexes, so only the matched
+    // professors' reviews are read
+    String SUMMARY_SELECT = "SELECT p.id AS \"id\", p.name AS \"name\", p.school AS \"school\", " +
+            "p.department AS \"department\", " +
+            "(SELECT COUNT(*) FROM courses pc WHERE pc.professor_id = p.id) AS \"coursesCount\", " +
+            "s.review_count AS \"reviewCount\", s.average_rating AS \"averageRating\", " +
+            "s.easy_count AS \"easyCount\", s.moderate_count AS \"moderateCount\", s.hard_count AS \"hardCount\" " +
+            "FROM professors p " +
+            "CROSS JOIN LATERAL (SELECT COUNT(r.rating) AS review_count, AVG(r.rating) AS average_rating, " +
+            "COALESCE(SUM(CASE WHEN r.difficulty = 'Easy' THEN 1 ELSE 0 END), 0) AS easy_count, " +
+            "COALESCE(SUM(CASE WHEN r.difficulty = 'Moderate' THEN 1 ELSE 0 END), 0) AS moderate_count, " +
+            "COALESCE(SUM(CASE WHEN r.difficulty = 'Hard' THEN 1 ELSE 0 END), 0) AS hard_count " +
+            "FROM (SELECT rv.rating, rv.difficulty FROM courses c JOIN reviews rv ON rv.course_id = c.id " +
+            "WHERE c.professor_id = p.id " +
+            "UNION ALL SELECT rv.rating, rv.difficulty FROM reviews rv " +
+            "WHERE rv.professor_id = p.id AND rv.course_id IS NULL) r) s ";
+
+    String SUMMARY_ORDER_BY = " ORDER BY p.id";
+
+    // Professor detail: one row per course with its aggregates, plus a course-less row for reviews
+    // attributed to the professor directly. Each review is read once and the totals are summed from the rows.
+    String DETAIL_AGGREGATES = "COUNT(r.id) AS \"reviewCount\", COALESCE(SUM(r.rating), 0) AS \"ratingSum\", " +
+            "SUM(CASE WHEN r.difficulty = 'Easy' THEN 1 ELSE 0 END) AS \"easyCount\", " +
+            "SUM(CASE WHEN r.difficulty = 'Moderate' THEN 1 ELSE 0 END) AS \"moderateCount\", " +
+            "SUM(CASE WHEN r.difficulty = 'Hard' THEN 1 ELSE 0 END) AS \"hardCount\" ";
+
+    String DETAIL_PROFESSOR_COLUMNS = "p.id AS \"professorId\", p.name AS \"professorName\", " +
+            "p.school AS \"professorSchool\", p.department AS \"professorDepartment\", ";
+
+    String DETAIL_COURSE_ROWS = "SELECT " + DETAIL_PROFESSOR_COLUMNS +
+            "c.id AS \"courseId\", c.code AS \"code\", c.title AS \"title\", " +
+            "c.school AS \"school\", c.department AS \"department\", " + DETAIL_AGGREGATES +
+            "FROM professors p " +
+            "LEFT JOIN courses c ON c.professor_id = p.id " +
+            "LEFT JOIN reviews r ON r.course_id = c.id ";
+
+    String DETAIL_COURSE_GROUP_BY =
+            " GROUP BY p.id, p.name, p.school, p.department, c.id, c.code, c.title, c.school, c.department";
+
+    String DETAIL_DIRECT_ROWS = " UNION ALL SELECT " + DETAIL_PROFESSOR_COLUMNS +
+            "NULL, NULL, NULL, NULL, NULL, " + DETAIL_AGGREGATES +
+            "FROM professors p " +
+            "JOIN reviews r ON r.professor_id = p.id AND r.course_id IS NULL ";
+
+    String DETAIL_DIRECT_GROUP_BY = " GROUP BY p.id, p.name, p.school, p.department ORDER BY \"courseId\"";
+
     Optional<Professor> findByName(String name);
     List<Professor> findBySchool(String school);
 
     @Query("SELECT p FROM Professor p WHERE " +
             "LOWER(p.name) LIKE LOWER(CONCAT('%', :query, '%'))")
     List<Professor> searchProfessors(String query);
+
+    @Query(value = SUMMARY_SELECT + SUMMARY_ORDER_BY, nativeQuery = true)
+    List<ProfessorSummary> findAllSummaries();
+
+    // The page of ids is picked first, so only those professors are aggregated
+    String SUMMARY_PAGE_AFTER = "WHERE p.id IN (SELECT pp.id FROM professors pp WHERE pp.id > :after " +
+            "ORDER BY pp.id LIMIT :limit)";
+
+    @Query(value = SUMMARY_SELECT + SUMMARY_PAGE_AFTER + SUMMARY_ORDER_BY, nativeQuery = true)
+    List<ProfessorSummary> findSummaryPageAfter(Long after, int limit);
+
+    @Query(value = SUMMARY_SELECT + "WHERE p.id = :id" + SUMMARY_ORDER_BY, nativeQuery = true)
+    Optional<ProfessorSummary> findSummaryById(Long id);
+
+    @Query(value = DETAIL_COURSE_ROWS + "WHERE p.id = :id" + DETAIL_COURSE_GROUP_BY +
+            DETAIL_DIRECT_ROWS + "WHERE p.id = :id" + DETAIL_DIRECT_GROUP_BY, nativeQuery = true)
+    List<ProfessorCourseRow> findDetailRowsById(Long id);
+
+    @Query(value = DETAIL_COURSE_ROWS + "WHERE p.name = :name" + DETAIL_COURSE_GROUP_BY +
+            DETAIL_DIRECT_ROWS + "WHERE p.name = :name" + DETAIL_DIRECT_GROUP_BY, nativeQuery = true)
+    List<ProfessorCourseRow> findDetailRowsByName(String name);
+
+    @Query(value = SUMMARY_SELECT + "WHERE p.id IN (:ids)" + SUMMARY_ORDER_BY, nativeQuery = true)
+    List<ProfessorSummary> findSummariesByIdIn(Collection<Long> ids);
+
+    @Query(value = SUMMARY_SELECT + "WHERE p.school = :school" + SUMMARY_ORDER_BY, nativeQuery = true)
+    List<ProfessorSummary> findSummariesBySchool(String school);
+
+    @Query(value = SUMMARY_SELECT +
+            "WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :query, '%'))" + SUMMARY_ORDER_BY, nativeQuery = true)
+    List<ProfessorSummary> searchSummaries(String query);
 }
@@ -0,0 +1,49 @@
+package com.ada.ratemycourse.repository;
+
+import com.ada.ratemycourse.model.RatingHistogramBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface RatingHistogramRepository extends JpaRepository<RatingHistogramBucket, RatingHistogramBucket.Key> {
+
+    // Every review once for its course and once for its attributed professor, see ProfessorRepository
+    String SUBJECTS = "(SELECT 'course' AS subject_type, r.course_id AS subject_id, " +
+            "r.rating, r.difficulty, r.semester, r.year " +
+            "FROM reviews r WHERE r.course_id IS NOT NULL " +
+            "UNION ALL SELECT 'professor', COALESCE(c.professor_id, r.professor_id), " +
+            "r.rating, r.difficulty, r.semester, r.year " +
+            "FROM reviews r LEFT JOIN courses c ON c.id = r.course_id " +
+            "WHERE COALESCE(c.professor_id, r.professor_id) IS NOT NULL) s ";
+
+    // Whole-star buckets, a 4.5 counts as 4 like RatingHistogramServiceImpl.ratingBucket
+    String RATING_BUCKET = "CAST(CAST(FLOOR(s.rating) AS INTEGER) AS VARCHAR(32))";
+
+    String TERM_BUCKET = "CAST(s.year AS VARCHAR(8)) || '-' || s.semester";
+
+    // Reads at most a few dozen rows (the primary key prefix), however many reviews the subject has
+    List<RatingHistogramBucket> findBySubjectTypeAndSubjectId(String subjectType, Long subjectId);
+
+    // Adds to a counter, creating it on a bucket's first review. One statement, so two first reviews of the
+    // same bucket (e.g. a new term) cannot both try to insert it
+    @Modifying
+    @Query(value = "INSERT INTO rating_histograms (subject_type, subject_id, dimension, bucket, review_count) " +
+            "VALUES (:subjectType, :subjectId, :dimension, :bucket, :delta) " +
+            "ON CONFLICT (subject_type, subject_id, dimension, bucket) " +
+            "DO UPDATE SET review_count = rating_histograms.review_count + EXCLUDED.review_count", nativeQuery = true)
+    int applyDelta(String subjectType, Long subjectId, String dimension, String bucket, long delta);
+
+    // Recomputes every counter from the reviews table in a single statement
+    @Modifying
+    @Query(value = "INSERT INTO rating_histograms (subject_type, subject_id, dimension, bucket, review_count) " +
+            "SELECT s.subject_type, s.subject_id, 'rating', " + RATING_BUCKET + ", COUNT(*) FROM " + SUBJECTS +
+            "GROUP BY s.subject_type, s.subject_id, " + RATING_BUCKET +
+            " UNION ALL SELECT s.subject_type, s.subject_id, 'difficulty', s.difficulty, COUNT(*) FROM " + SUBJECTS +
+            "GROUP BY s.subject_type, s.subject_id, s.difficulty" +
+            " UNION ALL SELECT s.subject_type, s.subject_id, 'term', " + TERM_BUCKET + ", COUNT(*) FROM " + SUBJECTS +
+            "WHERE s.semester IS NOT NULL AND s.year IS NOT NULL " +
+            "GROUP BY s.subject_type, s.subject_id, " + TERM_BUCKET, nativeQuery = true)
+    int rebuildFromReviews();
+}
@@ -1,15 +1,80 @@
 package com.ada.ratemycourse.repository;
 
 import com.ada.ratemycourse.model.Review;
+import com.ada.ratemycourse.repository.projection.OwnedReview;
+import com.ada.ratemycourse.repository.projection.ReviewView;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
+
+    // Joins everything a ReviewResponse needs so a list costs a single select
+    String VIEW_SELECT = "SELECT new com.ada.ratemycourse.repository.projection.ReviewView(" +
+            "r.id, r.rating, r.difficulty, r.text, r.semester, r.year, r.createdAt, " +
+            "c.code, c.title, p.name, u.id, u.email) " +
+            "FROM Review r JOIN r.user u LEFT JOIN r.course c LEFT JOIN r.professor p ";
+
+    @EntityGraph(attributePaths = {"user", "course", "professor"})
     List<Review> findByCourseId(Long courseId);
+
+    @EntityGraph(attributePaths = {"user", "course", "professor"})
     List<Review> findByProfessorId(Long professorId);
+
     List<Review> findByUserId(Long userId);
 
+    @Query(VIEW_SELECT + "WHERE c.id = :courseId")
+    List<ReviewView> findViewsByCourseId(Long courseId);
+
+    @Query(VIEW_SELECT + "WHERE p.id = :professorId")
+    List<ReviewView> findViewsByProfessorId(Long professorId);
+
+    @Query(VIEW_SELECT + "WHERE c.id = :courseId AND r.id < :before ORDER BY r.id DESC")
+    List<ReviewView> findCourseViewPageBefore(Long courseId, Long before, Pageable pageable);
+
+    // Null when the review does not exist or belongs to someone else. Locks the review row until the
+    // transaction ends, so a concurrent edit of the same review waits and then reads these values fresh
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.ada.ratemycourse.repository.projection.OwnedReview(" +
+            "r.id, r.rating, r.difficulty, r.semester, r.year, r.createdAt, " +
+            "c.id, c.code, c.title, c.school, c.department, " +
+            "CASE WHEN c.id IS NOT NULL THEN cp.id ELSE p.id END, " +
+            "CASE WHEN c.id IS NOT NULL THEN cp.name ELSE p.name END, " +
+            "CASE WHEN c.id IS NOT NULL THEN cp.school ELSE p.school END, " +
+            "p.id, p.name) " +
+            "FROM Review r LEFT JOIN r.course c LEFT JOIN c.professor cp LEFT JOIN r.professor p " +
+            "WHERE r.id = :reviewId AND r.user.id = :userId")
+    OwnedReview findOwned(Long reviewId, Long userId);
+
+    // Ownership check and write in one statement, 0 rows when the review is gone or not the user's;
+    // a null courseId keeps the current course
+    @Modifying
+    @Query(value = "UPDATE reviews SET rating = :rating, difficulty = :difficulty, text = :text, " +
+            "semester = :semester, year = :year, course_id = COALESCE(CAST(:courseId AS BIGINT), course_id) " +
+            "WHERE id = :reviewId AND user_id = :userId", nativeQuery = true)
+    int updateOwned(Long reviewId, Long userId, Double rating, String difficulty, String text,
+                    String semester, Integer year, Long courseId);
+
+    @Modifying
+    @Query("DELETE FROM Review r WHERE r.id = :reviewId AND r.user.id = :userId")
+    int deleteOwned(Long reviewId, Long userId);
+
+    // A user's reviews newest first, keyset paged over (createdAt, id) on idx_reviews_user_created
+    @Query(VIEW_SELECT + "WHERE r.user.id = :userId ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewView> findUserViewPage(Long userId, Pageable pageable);
+
+    @Query(VIEW_SELECT + "WHERE r.user.id = :userId " +
+            "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewView> findUserViewPageBefore(Long userId, LocalDateTime createdAt, Long id, Pageable pageable);
+
     @Query("SELECT AVG(r.rating) FROM Review r WHERE r.course.id = :courseId")
     Double getAverageRatingForCourse(Long courseId);
 
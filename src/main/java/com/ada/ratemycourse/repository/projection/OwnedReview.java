@@ -0,0 +1,37 @@
+package com.ada.ratemycourse.repository.projection;
+
+import com.ada.ratemycourse.event.ReviewSnapshot;
+import com.ada.ratemycourse.model.Difficulty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Review row read by (review id, author id) before an update or delete: enough for the aggregate
+// deltas, the change event and the response, without loading the entity
+@Data
+@AllArgsConstructor
+public class OwnedReview {
+    private Long id;
+    private Double rating;
+    private Difficulty difficulty;
+    private String semester;
+    private Integer year;
+    private LocalDateTime createdAt;
+    private Long courseId;
+    private String courseCode;
+    private String courseTitle;
+    private String courseSchool;
+    private String courseDepartment;
+    private Long professorId; // attributed professor, see ProfessorRepository
+    private String professorName;
+    private String professorSchool;
+    private Long directProfessorId;
+    private String directProfessorName;
+
+    public ReviewSnapshot toSnapshot() {
+        return new ReviewSnapshot(id, courseId, courseCode, courseSchool, courseDepartment,
+                professorId, professorName, professorSchool, directProfessorId,
+                rating, difficulty, semester, year);
+    }
+}
@@ -0,0 +1,33 @@
+package com.ada.ratemycourse.repository.projection;
+
+// One course of a professor with that course's review aggregates. The row without a course
+// carries the reviews that name the professor directly and have no course.
+public interface ProfessorCourseRow {
+    Long getProfessorId();
+
+    String getProfessorName();
+
+    String getProfessorSchool();
+
+    String getProfessorDepartment();
+
+    Long getCourseId();
+
+    String getCode();
+
+    String getTitle();
+
+    String getSchool();
+
+    String getDepartment();
+
+    Long getReviewCount();
+
+    Double getRatingSum();
+
+    Long getEasyCount();
+
+    Long getModerateCount();
+
+    Long getHardCount();
+}
@@ -0,0 +1,24 @@
+package com.ada.ratemycourse.repository.projection;
+
+// Professor row with its review aggregates, produced by one grouped query
+public interface ProfessorSummary {
+    Long getId();
+
+    String getName();
+
+    String getSchool();
+
+    String getDepartment();
+
+    Long getCoursesCount();
+
+    Long getReviewCount();
+
+    Double getAverageRating();
+
+    Long getEasyCount();
+
+    Long getModerateCount();
+
+    Long getHardCount();
+}
@@ -0,0 +1,25 @@
+package com.ada.ratemycourse.repository.projection;
+
+import com.ada.ratemycourse.model.Difficulty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Flat review row for list endpoints, built by a constructor expression so no entities are loaded
+@Data
+@AllArgsConstructor
+public class ReviewView {
+    private Long id;
+    private Double rating;
+    private Difficulty difficulty;
+    private String text;
+    private String semester;
+    private Integer year;
+    private LocalDateTime createdAt;
+    private String courseCode;
+    private String courseTitle;
+    private String professorName;
+    private Long authorId;
+    private String authorEmail;
+}
@@ -0,0 +1,153 @@
+package com.ada.ratemycourse.search;
+
+import com.ada.ratemycourse.config.CacheConfig;
+import com.ada.ratemycourse.event.CatalogEntityChangedEvent;
+import com.ada.ratemycourse.event.CatalogRebuiltEvent;
+import com.ada.ratemycourse.model.Course;
+import com.ada.ratemycourse.model.Professor;
+import com.ada.ratemycourse.repository.CourseRepository;
+import com.ada.ratemycourse.repository.ProfessorRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory search over course code, title and professor name, and over professor names
+@Component
+public class CatalogSearchIndex {
+
+    private static final int COURSE_CODE = 0;
+    private static final int COURSE_TITLE = 1;
+    private static final int COURSE_PROFESSOR = 2;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ProfessorRepository professorRepository;
+
+    @Value("${ratemycourse.search.max-results:100}")
+    private int maxResults;
+
+    private final NgramIndex courses = new NgramIndex(3, 2, 1);
+    private final NgramIndex professors = new NgramIndex(1);
+    private final Map<Long, Set<Long>> coursesByProfessor = new ConcurrentHashMap<>();
+    private final Map<Long, Long> professorByCourse = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void rebuild() {
+        ready = false;
+        courses.clear();
+        professors.clear();
+        coursesByProfessor.clear();
+        professorByCourse.clear();
+
+        for (Professor professor : professorRepository.findAll()) {
+            professors.put(professor.getId(), professor.getName());
+        }
+        for (Course course : courseRepository.findAllWithProfessor()) {
+            indexCourse(course);
+        }
+        ready = true;
+    }
+
+    // Bulk writes skip the entity listener, searches use SQL while the index is rebuilt
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(CacheConfig.REFRESH_ORDER)
+    public void onCatalogRebuilt(CatalogRebuiltEvent event) {
+        rebuild();
+    }
+
+    // Applied after commit, so rolled-back inserts and renames never reach the index
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(CacheConfig.REFRESH_ORDER)
+    public void onCatalogEntityChanged(CatalogEntityChangedEvent event) {
+        if (event.getCourseId() != null) {
+            if (event.isRemoved()) {
+                removeCourse(event.getCourseId());
+            } else {
+                indexCourse(event.getCourseId(), event.getCourseCode(), event.getCourseTitle(),
+                        event.getProfessorId(), event.getProfessorName());
+            }
+        } else if (event.isRemoved()) {
+            removeProfessor(event.getProfessorId());
+        } else {
+            indexProfessor(event.getProfessorId(), event.getProfessorName());
+        }
+    }
+
+    public List<Long> searchCourses(String query) {
+        return courses.search(query, maxResults);
+    }
+
+    public List<Long> searchProfessors(String query) {
+        return professors.search(query, maxResults);
+    }
+
+    public void indexCourse(Course course) {
+        Professor professor = course.getProfessor();
+        indexCourse(course.getId(), course.getCode(), course.getTitle(),
+                professor != null ? professor.getId() : null, professor != null ? professor.getName() : null);
+    }
+
+    // Writes are serialized so the two professor/course maps always agree
+    public synchronized void indexCourse(Long courseId, String code, String title, Long professorId,
+                                         String professorName) {
+        courses.put(courseId, code, title, professorName);
+
+        Long previous = professorId != null
+                ? professorByCourse.put(courseId, professorId)
+                : professorByCourse.remove(courseId);
+        if (previous != null && !previous.equals(professorId)) {
+            unlink(previous, courseId);
+        }
+        if (professorId != null) {
+            coursesByProfessor.computeIfAbsent(professorId, id -> ConcurrentHashMap.newKeySet()).add(courseId);
+        }
+    }
+
+    public synchronized void removeCourse(Long courseId) {
+        courses.remove(courseId);
+        Long professorId = professorByCourse.remove(courseId);
+        if (professorId != null) {
+            unlink(professorId, courseId);
+        }
+    }
+
+    public synchronized void indexProfessor(Long professorId, String name) {
+        professors.put(professorId, name);
+
+        // Course documents carry the professor name, refresh them for renames
+        for (Long courseId : coursesByProfessor.getOrDefault(professorId, Set.of())) {
+            String[] fields = courses.get(courseId);
+            if (fields != null) {
+                courses.put(courseId, fields[COURSE_CODE], fields[COURSE_TITLE], name);
+            }
+        }
+    }
+
+    public synchronized void removeProfessor(Long professorId) {
+        professors.remove(professorId);
+        Set<Long> courseIds = coursesByProfessor.remove(professorId);
+        if (courseIds != null) {
+            courseIds.forEach(courseId -> professorByCourse.remove(courseId, professorId));
+        }
+    }
+
+    private void unlink(Long professorId, Long courseId) {
+        Set<Long> ids = coursesByProfessor.get(professorId);
+        if (ids != null) {
+            ids.remove(courseId);
+        }
+    }
+}
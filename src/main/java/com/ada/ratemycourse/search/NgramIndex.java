@@ -0,0 +1,226 @@
+package com.ada.ratemycourse.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Trigram index over a few short text fields per document. Postings are sorted long arrays,
+// candidates from the trigram intersection are verified and ranked against the stored fields.
+public class NgramIndex {
+
+    private static final int GRAM = 3;
+    private static final int MAX_FIELD_LENGTH = 200;
+
+    private final int[] fieldWeights;
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Long, String[]> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Earlier fields rank higher when the same query matches several of them
+    public NgramIndex(int... fieldWeights) {
+        this.fieldWeights = fieldWeights;
+    }
+
+    public void put(long id, String... fields) {
+        String[] normalized = new String[fieldWeights.length];
+        for (int i = 0; i < normalized.length; i++) {
+            String field = i < fields.length ? normalize(fields[i]) : "";
+            normalized[i] = field.length() > MAX_FIELD_LENGTH ? field.substring(0, MAX_FIELD_LENGTH) : field;
+        }
+
+        lock.writeLock().lock();
+        try {
+            String[] previous = documents.put(id, normalized);
+            if (previous != null) {
+                for (long gram : grams(previous)) {
+                    Postings list = postings.get(gram);
+                    if (list != null && list.remove(id) && list.size == 0) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+            for (long gram : grams(normalized)) {
+                postings.computeIfAbsent(gram, g -> new Postings()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public String[] get(long id) {
+        lock.readLock().lock();
+        try {
+            String[] fields = documents.get(id);
+            return fields != null ? fields.clone() : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            String[] previous = documents.remove(id);
+            if (previous == null) return;
+            for (long gram : grams(previous)) {
+                Postings list = postings.get(gram);
+                if (list != null && list.remove(id) && list.size == 0) {
+                    postings.remove(gram);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Returns ids of documents containing the query in any field, best match first
+    public List<Long> search(String query, int limit) {
+        String q = normalize(query);
+
+        lock.readLock().lock();
+        try {
+            List<long[]> scored = new ArrayList<>();
+            if (q.length() < GRAM) {
+                // Too short for a trigram lookup, the stored fields are small enough to scan
+                for (Map.Entry<Long, String[]> entry : documents.entrySet()) {
+                    addIfMatches(scored, entry.getKey(), entry.getValue(), q);
+                }
+            } else {
+                for (long id : candidates(q)) {
+                    addIfMatches(scored, id, documents.get(id), q);
+                }
+            }
+
+            scored.sort(Comparator.<long[]>comparingLong(s -> -s[1]).thenComparingLong(s -> s[0]));
+            List<Long> ids = new ArrayList<>(Math.min(limit, scored.size()));
+            for (int i = 0; i < scored.size() && i < limit; i++) {
+                ids.add(scored.get(i)[0]);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] candidates(String q) {
+        Set<Long> queryGrams = grams(q);
+        Postings[] lists = new Postings[queryGrams.size()];
+        int n = 0;
+        for (long gram : queryGrams) {
+            Postings list = postings.get(gram);
+            if (list == null) return new long[0];
+            lists[n++] = list;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+        // Walk the shortest list and keep ids present in every other one
+        Postings shortest = lists[0];
+        long[] result = new long[shortest.size];
+        int count = 0;
+        outer:
+        for (int i = 0; i < shortest.size; i++) {
+            long id = shortest.ids[i];
+            for (int j = 1; j < lists.length; j++) {
+                if (!lists[j].contains(id)) continue outer;
+            }
+            result[count++] = id;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private void addIfMatches(List<long[]> scored, long id, String[] fields, String q) {
+        long best = 0;
+        for (int i = 0; i < fields.length; i++) {
+            long score = matchScore(fields[i], q) * fieldWeights[i];
+            best = Math.max(best, score);
+        }
+        if (best > 0) {
+            scored.add(new long[]{id, best});
+        }
+    }
+
+    private static long matchScore(String field, String q) {
+        if (q.isEmpty()) return 1;
+        int at = field.indexOf(q);
+        if (at < 0) return 0;
+        if (field.length() == q.length()) return 8;
+        if (at == 0) return 4;
+        if (field.charAt(at - 1) == ' ') return 2;
+        return 1;
+    }
+
+    private static Set<Long> grams(String... fields) {
+        Set<Long> grams = new HashSet<>();
+        for (String field : fields) {
+            for (int i = 0; i + GRAM <= field.length(); i++) {
+                grams.add(((long) field.charAt(i) << 32) | ((long) field.charAt(i + 1) << 16) | field.charAt(i + 2));
+            }
+        }
+        return grams;
+    }
+
+    static String normalize(String text) {
+        if (text == null) return "";
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    // Sorted, growable array of document ids
+    private static final class Postings {
+        long[] ids = new long[4];
+        int size;
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        void add(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) return;
+            at = -at - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) return false;
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+            if (size > 4 && size < ids.length / 4) {
+                ids = Arrays.copyOf(ids, ids.length / 2);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.ada.ratemycourse.search;
+
+import com.ada.ratemycourse.event.CatalogEntityChangedEvent;
+import com.ada.ratemycourse.model.Course;
+import com.ada.ratemycourse.model.Professor;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+// Publishes course and professor writes for CatalogSearchIndex. These callbacks run at flush time
+// inside the transaction, so the index only applies them once the transaction has committed.
+public class SearchIndexEntityListener {
+
+    // Resolved lazily, the listener is created while the EntityManagerFactory is still starting
+    @Autowired
+    private ObjectProvider<ApplicationEventPublisher> eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        publish(entity, false);
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        publish(entity, true);
+    }
+
+    private void publish(Object entity, boolean removed) {
+        ApplicationEventPublisher publisher = eventPublisher.getIfAvailable();
+        if (publisher == null) return;
+
+        if (entity instanceof Course course) {
+            publisher.publishEvent(CatalogEntityChangedEvent.of(course, removed));
+        } else if (entity instanceof Professor professor) {
+            publisher.publishEvent(CatalogEntityChangedEvent.of(professor, removed));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.ada.ratemycourse.service;
+
+import com.ada.ratemycourse.dto.ImportResult;
+import com.ada.ratemycourse.importer.RecordReader;
+
+import java.io.IOException;
+
+public interface CatalogImportService {
+    String PROFESSORS = "professors";
+    String COURSES = "courses";
+    String REVIEWS = "reviews";
+
+    // kind is professors, courses or reviews; references resolve against rows imported earlier
+    ImportResult importRecords(String kind, RecordReader reader) throws IOException;
+}
@@ -1,9 +1,11 @@
 package com.ada.ratemycourse.service;
 
 import com.ada.ratemycourse.dto.CourseResponse;
+import com.ada.ratemycourse.dto.PageResponse;
 import org.jspecify.annotations.Nullable;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CourseService {
     @Nullable List<CourseResponse> getAllCourses();
@@ -13,4 +15,8 @@ public interface CourseService {
     @Nullable List<CourseResponse> searchCourses(String query);
 
     @Nullable List<CourseResponse> getCoursesBySchool(String school);
+
+    PageResponse<CourseResponse> getCoursesPage(Long cursor, int limit);
+
+    void forEachCourse(Consumer<CourseResponse> consumer);
 }
@@ -0,0 +1,23 @@
+package com.ada.ratemycourse.service;
+
+import com.ada.ratemycourse.model.CourseStats;
+import com.ada.ratemycourse.model.Difficulty;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface CourseStatsService {
+    CourseStats getStats(Long courseId);
+
+    Map<Long, CourseStats> getStats(Collection<Long> courseIds);
+
+    Map<Long, CourseStats> getAllStats();
+
+    void recordReviewAdded(Long courseId, Double rating, Difficulty difficulty);
+
+    void recordReviewRemoved(Long courseId, Double rating, Difficulty difficulty);
+
+    void recordDelta(CourseStats delta);
+
+    void rebuild();
+}
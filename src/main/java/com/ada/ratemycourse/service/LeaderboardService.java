@@ -0,0 +1,16 @@
+package com.ada.ratemycourse.service;
+
+import com.ada.ratemycourse.dto.CourseResponse;
+import com.ada.ratemycourse.dto.LeaderboardEntry;
+import com.ada.ratemycourse.dto.ProfessorResponse;
+
+import java.util.List;
+
+public interface LeaderboardService {
+    // sort is best, worst, easiest or hardest; school and department are optional filters
+    List<LeaderboardEntry<CourseResponse>> topCourses(String school, String department, String sort, int limit);
+
+    List<LeaderboardEntry<ProfessorResponse>> topProfessors(String school, String department, String sort, int limit);
+
+    void rebuild();
+}
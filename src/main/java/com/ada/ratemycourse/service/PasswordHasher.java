@@ -0,0 +1,9 @@
+package com.ada.ratemycourse.service;
+
+public interface PasswordHasher {
+    String encode(String rawPassword);
+
+    boolean matches(String rawPassword, String encodedPassword);
+
+    boolean needsRehash(String encodedPassword);
+}
@@ -1,9 +1,11 @@
 package com.ada.ratemycourse.service;
 
+import com.ada.ratemycourse.dto.PageResponse;
 import com.ada.ratemycourse.dto.ProfessorResponse;
 import org.jspecify.annotations.Nullable;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ProfessorService {
     @Nullable List<ProfessorResponse> getAllProfessors();
@@ -15,4 +17,8 @@ public interface ProfessorService {
     @Nullable List<ProfessorResponse> searchProfessors(String query);
 
     @Nullable List<ProfessorResponse> getProfessorsBySchool(String school);
+
+    PageResponse<ProfessorResponse> getProfessorsPage(Long cursor, int limit);
+
+    void forEachProfessor(Consumer<ProfessorResponse> consumer);
 }
@@ -0,0 +1,20 @@
+package com.ada.ratemycourse.service;
+
+import com.ada.ratemycourse.dto.RatingHistogramResponse;
+import com.ada.ratemycourse.event.ReviewSnapshot;
+
+import java.util.Collection;
+
+public interface RatingHistogramService {
+    RatingHistogramResponse getCourseHistogram(String code);
+
+    RatingHistogramResponse getProfessorHistogram(Long professorId);
+
+    void recordReviewAdded(ReviewSnapshot review);
+
+    void recordReviewRemoved(ReviewSnapshot review);
+
+    void recordReviewsAdded(Collection<ReviewSnapshot> reviews);
+
+    void rebuild();
+}
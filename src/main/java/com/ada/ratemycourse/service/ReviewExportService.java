@@ -0,0 +1,11 @@
+package com.ada.ratemycourse.service;
+
+import com.ada.ratemycourse.importer.ImportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ReviewExportService {
+    // school and year are optional filters; rows are written as they are read
+    void exportReviews(ImportFormat format, String school, Integer year, OutputStream out) throws IOException;
+}
@@ -1,23 +1,33 @@
 package com.ada.ratemycourse.service;
 
+import com.ada.ratemycourse.dto.PageResponse;
 import com.ada.ratemycourse.dto.ReviewRequest;
 import com.ada.ratemycourse.dto.ReviewResponse;
+import com.ada.ratemycourse.dto.SessionUser;
 import com.ada.ratemycourse.model.Review;
-import com.ada.ratemycourse.model.User;
 import jakarta.validation.Valid;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ReviewService {
     String calculateDifficulty(List<Review> reviews);
 
-    ReviewResponse createReview(@Valid ReviewRequest reviewRequest, User currentUser);
+    String calculateDifficulty(long easyCount, long moderateCount, long hardCount);
+
+    ReviewResponse createReview(@Valid ReviewRequest reviewRequest, SessionUser currentUser);
 
     List<ReviewResponse> getReviewsForCourse(Long courseId, String email);
 
+    PageResponse<ReviewResponse> getReviewsForCoursePage(Long courseId, String email, Long cursor, int limit);
+
+    void forEachReviewForCourse(Long courseId, String email, Consumer<ReviewResponse> consumer);
+
     List<ReviewResponse> getReviewsForProfessor(Long professorId, String email);
 
-    ReviewResponse updateReview(Long reviewId, @Valid ReviewRequest reviewRequest, User currentUser);
+    PageResponse<ReviewResponse> getReviewsForUserPage(SessionUser user, String cursor, int limit);
+
+    ReviewResponse updateReview(Long reviewId, @Valid ReviewRequest reviewRequest, SessionUser currentUser);
 
-    void deleteReview(Long reviewId, User currentUser);
+    void deleteReview(Long reviewId, SessionUser currentUser);
 }
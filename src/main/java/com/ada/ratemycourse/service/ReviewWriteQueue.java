@@ -0,0 +1,14 @@
+package com.ada.ratemycourse.service;
+
+import com.ada.ratemycourse.dto.ReviewReceipt;
+import com.ada.ratemycourse.dto.ReviewRequest;
+import com.ada.ratemycourse.dto.SessionUser;
+import jakarta.validation.Valid;
+
+public interface ReviewWriteQueue {
+    boolean isEnabled();
+
+    ReviewReceipt submit(@Valid ReviewRequest reviewRequest, SessionUser currentUser);
+
+    ReviewReceipt getReceipt(String receiptId, SessionUser currentUser);
+}
@@ -1,14 +1,17 @@
 package com.ada.ratemycourse.service.impls;
 
-import com.ada.ratemycourse.dto.AuthResponse;
+import com.ada.ratemycourse.config.CacheConfig;
 import com.ada.ratemycourse.dto.LoginRequest;
+import com.ada.ratemycourse.dto.SessionUser;
 import com.ada.ratemycourse.dto.SignupRequest;
-import com.ada.ratemycourse.dto.UserResponse;
+import com.ada.ratemycourse.exception.PasswordHashingBusyException;
 import com.ada.ratemycourse.model.User;
 import com.ada.ratemycourse.repository.UserRepository;
 import com.ada.ratemycourse.service.AuthService;
+import com.ada.ratemycourse.service.PasswordHasher;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -18,9 +21,10 @@ public class AuthServiceImpl implements AuthService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
-    public AuthResponse signup(SignupRequest request) {
+    @CachePut(cacheNames = CacheConfig.SESSION_USERS, key = "#result.email")
+    public SessionUser signup(SignupRequest request) {
         // Check if email already exists
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new RuntimeException("Email already exists");
@@ -29,33 +33,41 @@ public class AuthServiceImpl implements AuthService {
         // Create new user
         User user = new User();
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHasher.encode(request.getPassword()));
         userRepository.save(user);
 
-        return new AuthResponse(user.getEmail(), "User registered successfully");
+        return new SessionUser(user.getId(), user.getEmail());
     }
 
-    public AuthResponse login(LoginRequest request) {
+    @CachePut(cacheNames = CacheConfig.SESSION_USERS, key = "#result.email")
+    public SessionUser login(LoginRequest request) {
         // Find user
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         // Verify password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(request.getPassword(), user.getPassword())) {
             throw new RuntimeException("Invalid password");
         }
 
-        return new AuthResponse(user.getEmail(), "Login successful");
-    }
+        // Move the hash to the configured cost while the plain password is at hand
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            try {
+                user.setPassword(passwordHasher.encode(request.getPassword()));
+                userRepository.save(user);
+            } catch (PasswordHashingBusyException e) {
+                // Not worth failing the login, the next one retries
+            }
+        }
 
-    public UserResponse getCurrentUser(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return new UserResponse(user.getId(), user.getEmail());
+        return new SessionUser(user.getId(), user.getEmail());
     }
 
-    public User getUserByEmail(String email) {
-        return userRepository.findByEmail(email)
+    // Only sessions created before the principal was stored get here
+    @Cacheable(CacheConfig.SESSION_USERS)
+    public SessionUser getSessionUser(String email) {
+        User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
+        return new SessionUser(user.getId(), user.getEmail());
     }
 }
@@ -0,0 +1,380 @@
+package com.ada.ratemycourse.service.impls;
+
+import com.ada.ratemycourse.dto.ImportResult;
+import com.ada.ratemycourse.event.CatalogRebuiltEvent;
+import com.ada.ratemycourse.importer.RecordReader;
+import com.ada.ratemycourse.model.Difficulty;
+import com.ada.ratemycourse.service.CatalogImportService;
+import com.ada.ratemycourse.service.CourseStatsService;
+import com.ada.ratemycourse.service.RatingHistogramService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class CatalogImportServiceImpl implements CatalogImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogImportServiceImpl.class);
+
+    private static final int MAX_ERRORS = 100;
+
+    // Not a BCrypt hash, so authors created for historical reviews cannot log in with a password
+    private static final String IMPORTED_PASSWORD = "!imported";
+
+    private static final String INSERT_PROFESSOR =
+            "INSERT INTO professors (name, school, department) VALUES (?, ?, ?)";
+    private static final String INSERT_COURSE =
+            "INSERT INTO courses (code, title, school, department, professor_id) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_USER = "INSERT INTO users (email, password, created_at) VALUES (?, ?, ?)";
+    private static final String INSERT_REVIEW = "INSERT INTO reviews " +
+            "(user_id, course_id, professor_id, rating, difficulty, text, semester, year, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CourseStatsService courseStatsService;
+
+    @Autowired
+    private RatingHistogramService ratingHistogramService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // With reWriteBatchedInserts on the Postgres URL each batch is sent as multi-row inserts
+    @Value("${ratemycourse.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${ratemycourse.import.progress-every:10000}")
+    private long progressEvery;
+
+    private TransactionTemplate transactionTemplate;
+
+    // Turns a record into a row, and writes a batch of rows inside one transaction
+    private interface Importer<T> {
+        T parse(Map<String, String> record);
+
+        void write(List<T> rows);
+
+        // Called once the batch passed to write has committed
+        default void committed() {
+        }
+    }
+
+    private record ProfessorRow(String name, String school, String department) {
+    }
+
+    private record CourseRow(String code, String title, String school, String department, long professorId) {
+    }
+
+    private record ReviewRow(String email, Long courseId, Long professorId, double rating, Difficulty difficulty,
+                             String text, String semester, Integer year, LocalDateTime createdAt) {
+    }
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public ImportResult importRecords(String kind, RecordReader reader) throws IOException {
+        Importer<?> importer = switch (kind) {
+            case PROFESSORS -> professorImporter();
+            case COURSES -> courseImporter();
+            case REVIEWS -> reviewImporter();
+            default -> throw new IllegalArgumentException("Unknown import kind: " + kind);
+        };
+
+        try {
+            return run(kind, reader, importer);
+        } finally {
+            // Once per import, also after a failure since earlier batches are already committed
+            if (kind.equals(REVIEWS)) {
+                courseStatsService.rebuild();
+                ratingHistogramService.rebuild();
+            }
+            eventPublisher.publishEvent(new CatalogRebuiltEvent("import " + kind));
+        }
+    }
+
+    private <T> ImportResult run(String kind, RecordReader reader, Importer<T> importer) throws IOException {
+        ImportResult result = new ImportResult();
+        result.setKind(kind);
+        long start = System.nanoTime();
+
+        List<T> batch = new ArrayList<>(batchSize);
+        while (true) {
+            T row;
+            try {
+                Map<String, String> record = reader.next();
+                if (record == null) break;
+                row = importer.parse(record);
+            } catch (IllegalArgumentException e) {
+                skip(result, reader.line(), e.getMessage());
+                continue;
+            }
+
+            batch.add(row);
+            if (batch.size() >= batchSize) {
+                flush(importer, batch, result, start);
+            }
+        }
+        flush(importer, batch, result, start);
+
+        long elapsedNanos = System.nanoTime() - start;
+        result.setElapsedMs(elapsedNanos / 1_000_000);
+        result.setRowsPerSecond(rate(result.getImported(), elapsedNanos));
+        log.info("Imported {} {} in {} ms ({} rows/s), {} skipped", result.getImported(), kind,
+                result.getElapsedMs(), result.getRowsPerSecond(), result.getSkipped());
+        return result;
+    }
+
+    private <T> void flush(Importer<T> importer, List<T> batch, ImportResult result, long start) {
+        if (batch.isEmpty()) return;
+
+        transactionTemplate.executeWithoutResult(status -> importer.write(batch));
+        importer.committed();
+        long before = result.getImported();
+        result.setImported(before + batch.size());
+        batch.clear();
+
+        if (result.getImported() / progressEvery > before / progressEvery) {
+            log.info("Import {}: {} rows so far ({} rows/s)", result.getKind(), result.getImported(),
+                    rate(result.getImported(), System.nanoTime() - start));
+        }
+    }
+
+    private static void skip(ImportResult result, long line, String message) {
+        result.setSkipped(result.getSkipped() + 1);
+        if (result.getErrors().size() < MAX_ERRORS) {
+            result.getErrors().add("line " + line + ": " + message);
+        }
+    }
+
+    private static long rate(long rows, long elapsedNanos) {
+        return elapsedNanos > 0 ? rows * 1_000_000_000L / elapsedNanos : rows;
+    }
+
+    private Importer<ProfessorRow> professorImporter() {
+        Set<String> names = new HashSet<>(jdbcTemplate.queryForList("SELECT name FROM professors", String.class));
+
+        return new Importer<>() {
+            @Override
+            public ProfessorRow parse(Map<String, String> record) {
+                ProfessorRow row = new ProfessorRow(required(record, "name"), required(record, "school"),
+                        required(record, "department"));
+                if (!names.add(row.name())) {
+                    throw new IllegalArgumentException("Professor already exists: " + row.name());
+                }
+                return row;
+            }
+
+            @Override
+            public void write(List<ProfessorRow> rows) {
+                jdbcTemplate.batchUpdate(INSERT_PROFESSOR, rows, batchSize, (ps, row) -> {
+                    ps.setString(1, row.name());
+                    ps.setString(2, row.school());
+                    ps.setString(3, row.department());
+                });
+            }
+        };
+    }
+
+    private Importer<CourseRow> courseImporter() {
+        Map<String, Long> professorIds = professorIds();
+        Set<String> codes = new HashSet<>(jdbcTemplate.queryForList("SELECT code FROM courses", String.class));
+
+        return new Importer<>() {
+            @Override
+            public CourseRow parse(Map<String, String> record) {
+                CourseRow row = new CourseRow(required(record, "code"), required(record, "title"),
+                        required(record, "school"), required(record, "department"),
+                        resolve(professorIds, required(record, "professor"), "professor"));
+                if (!codes.add(row.code())) {
+                    throw new IllegalArgumentException("Course already exists: " + row.code());
+                }
+                return row;
+            }
+
+            @Override
+            public void write(List<CourseRow> rows) {
+                jdbcTemplate.batchUpdate(INSERT_COURSE, rows, batchSize, (ps, row) -> {
+                    ps.setString(1, row.code());
+                    ps.setString(2, row.title());
+                    ps.setString(3, row.school());
+                    ps.setString(4, row.department());
+                    ps.setLong(5, row.professorId());
+                });
+            }
+        };
+    }
+
+    private Importer<ReviewRow> reviewImporter() {
+        Map<String, Long> professorIds = professorIds();
+        Map<String, Long> courseIds = new HashMap<>();
+        jdbcTemplate.query("SELECT id, code FROM courses", rs -> {
+            courseIds.put(rs.getString(2), rs.getLong(1));
+        });
+        Map<String, Long> userIds = new HashMap<>();
+        jdbcTemplate.query("SELECT id, email FROM users", rs -> {
+            userIds.put(rs.getString(2), rs.getLong(1));
+        });
+
+        return new Importer<>() {
+            // Authors inserted by the batch in flight; they join userIds only once that batch commits,
+            // a rolled back batch must not leave ids behind that later batches would reference
+            private Map<String, Long> staged = Map.of();
+
+            @Override
+            public ReviewRow parse(Map<String, String> record) {
+                String email = required(record, "email");
+                Long courseId = resolve(courseIds, record.get("course"), "course");
+                Long professorId = resolve(professorIds, record.get("professor"), "professor");
+                if (courseId == null && professorId == null) {
+                    throw new IllegalArgumentException("A review needs a course or a professor");
+                }
+
+                double rating = Double.parseDouble(required(record, "rating"));
+                if (rating < 1 || rating > 5) {
+                    throw new IllegalArgumentException("Rating must be between 1 and 5: " + rating);
+                }
+                String text = required(record, "text");
+                if (text.length() > 2000) {
+                    throw new IllegalArgumentException("Text is longer than 2000 characters");
+                }
+                String semester = record.get("semester");
+                if (semester != null && !semester.matches("Fall|Spring|Summer")) {
+                    throw new IllegalArgumentException("Unknown semester: " + semester);
+                }
+                String year = record.get("year");
+
+                return new ReviewRow(email, courseId, professorId, rating,
+                        Difficulty.fromLabel(required(record, "difficulty")), text, semester,
+                        year != null ? Integer.valueOf(year) : null, createdAt(record.get("created_at")));
+            }
+
+            @Override
+            public void write(List<ReviewRow> rows) {
+                staged = createMissingUsers(rows, userIds);
+
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                jdbcTemplate.batchUpdate(INSERT_REVIEW, rows, batchSize, (ps, row) -> {
+                    Long userId = userIds.get(row.email());
+                    ps.setLong(1, userId != null ? userId : staged.get(row.email()));
+                    ps.setObject(2, row.courseId(), Types.BIGINT);
+                    ps.setObject(3, row.professorId(), Types.BIGINT);
+                    ps.setDouble(4, row.rating());
+                    ps.setString(5, row.difficulty().getLabel());
+                    ps.setString(6, row.text());
+                    ps.setString(7, row.semester());
+                    ps.setObject(8, row.year(), Types.INTEGER);
+                    ps.setTimestamp(9, row.createdAt() != null ? Timestamp.valueOf(row.createdAt()) : now);
+                });
+            }
+
+            @Override
+            public void committed() {
+                userIds.putAll(staged);
+                staged = Map.of();
+            }
+        };
+    }
+
+    // Authors seen for the first time are inserted in one batch, returns their generated ids by email
+    private Map<String, Long> createMissingUsers(List<ReviewRow> rows, Map<String, Long> userIds) {
+        List<String> emails = rows.stream().map(ReviewRow::email)
+                .filter(email -> !userIds.containsKey(email)).distinct().toList();
+        if (emails.isEmpty()) return Map.of();
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_USER, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setString(1, emails.get(i));
+                        ps.setString(2, IMPORTED_PASSWORD);
+                        ps.setTimestamp(3, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return emails.size();
+                    }
+                }, keys);
+
+        List<Map<String, Object>> generated = keys.getKeyList();
+        Map<String, Long> created = new HashMap<>();
+        for (int i = 0; i < emails.size(); i++) {
+            Number id = (Number) generated.get(i).values().iterator().next();
+            created.put(emails.get(i), id.longValue());
+        }
+        return created;
+    }
+
+    // Professors are referenced by name like the /api/professors/{name} endpoint; the oldest row wins
+    private Map<String, Long> professorIds() {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM professors ORDER BY id", rs -> {
+            ids.putIfAbsent(rs.getString(2), rs.getLong(1));
+        });
+        return ids;
+    }
+
+    private static Long resolve(Map<String, Long> ids, String key, String column) {
+        if (key == null) return null;
+
+        Long id = ids.get(key);
+        if (id == null) {
+            throw new IllegalArgumentException("Unknown " + column + ": " + key);
+        }
+        return id;
+    }
+
+    private static String required(Map<String, String> record, String column) {
+        String value = record.get(column);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + column);
+        }
+        return value;
+    }
+
+    // ISO date-time or plain date, null when absent
+    private static LocalDateTime createdAt(String value) {
+        if (value == null) return null;
+
+        try {
+            return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid created_at: " + value);
+        }
+    }
+}
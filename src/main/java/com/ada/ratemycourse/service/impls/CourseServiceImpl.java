@@ -1,54 +1,134 @@
 package com.ada.ratemycourse.service.impls;
 
+import com.ada.ratemycourse.cache.SchoolSnapshots;
+import com.ada.ratemycourse.config.CacheConfig;
 import com.ada.ratemycourse.dto.CourseResponse;
+import com.ada.ratemycourse.dto.PageResponse;
+import com.ada.ratemycourse.event.ReviewChangedEvent;
+import com.ada.ratemycourse.event.ReviewSnapshot;
 import com.ada.ratemycourse.model.Course;
+import com.ada.ratemycourse.model.CourseStats;
 import com.ada.ratemycourse.repository.CourseRepository;
-import com.ada.ratemycourse.repository.ReviewRepository;
+import com.ada.ratemycourse.search.CatalogSearchIndex;
 import com.ada.ratemycourse.service.CourseService;
+import com.ada.ratemycourse.service.CourseStatsService;
 import com.ada.ratemycourse.service.ReviewService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class CourseServiceImpl implements CourseService {
 
+    private static final int STREAM_BATCH_SIZE = 500;
+
     @Autowired
     private CourseRepository courseRepository;
 
     @Autowired
-    private ReviewRepository reviewRepository;
+    private CourseStatsService courseStatsService;
 
     @Autowired
     private ReviewService reviewService;
 
+    @Autowired
+    private CatalogSearchIndex searchIndex;
+
+    @Autowired
+    private SchoolSnapshots schoolSnapshots;
+
+    @Cacheable(cacheNames = CacheConfig.COURSE_LIST, key = "'" + CacheConfig.ALL + "'")
     public List<CourseResponse> getAllCourses() {
-        return courseRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<Course> courses = courseRepository.findAllWithProfessor();
+        Map<Long, CourseStats> stats = courseStatsService.getAllStats();
+        return mapToResponses(courses, stats);
     }
 
+    @Cacheable(CacheConfig.COURSES)
     public CourseResponse getCourseByCode(String code) {
         Course course = courseRepository.findByCode(code)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
-        return mapToResponse(course);
+        return mapToResponse(course, courseStatsService.getStats(course.getId()));
     }
 
     public List<CourseResponse> searchCourses(String query) {
-        return courseRepository.searchCourses(query).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        if (!searchIndex.isReady()) {
+            return mapToResponses(courseRepository.searchCourses(query));
+        }
+
+        // Index returns ranked ids, load just those rows and keep the ranking
+        List<Long> ids = searchIndex.searchCourses(query);
+        if (ids.isEmpty()) return List.of();
+
+        List<Course> courses = courseRepository.findAllWithProfessorByIdIn(ids);
+        courses.sort(Comparator.comparingInt(course -> ids.indexOf(course.getId())));
+        return mapToResponses(courses);
     }
 
+    // Served from the school snapshot, the database is only read the first time a school is asked for
     public List<CourseResponse> getCoursesBySchool(String school) {
-        return courseRepository.findBySchool(school).stream()
-                .map(this::mapToResponse)
+        return schoolSnapshots.courses(school, s -> mapToResponses(courseRepository.findBySchool(s)));
+    }
+
+    public PageResponse<CourseResponse> getCoursesPage(Long cursor, int limit) {
+        int size = PageResponse.clampLimit(limit);
+        List<Course> courses = courseRepository.findPageAfter(
+                cursor != null ? cursor : 0L, PageRequest.of(0, size));
+
+        String next = courses.size() == size
+                ? String.valueOf(courses.get(courses.size() - 1).getId())
+                : null;
+        return new PageResponse<>(mapToResponses(courses), next);
+    }
+
+    // Walks the catalog in keyset batches so only one batch is held in memory at a time
+    public void forEachCourse(Consumer<CourseResponse> consumer) {
+        long cursor = 0L;
+        List<Course> batch;
+        do {
+            batch = courseRepository.findPageAfter(cursor, PageRequest.of(0, STREAM_BATCH_SIZE));
+            mapToResponses(batch).forEach(consumer);
+            if (!batch.isEmpty()) {
+                cursor = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == STREAM_BATCH_SIZE);
+    }
+
+    // Replaces the reviewed course in its school snapshot once the review change has committed
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(CacheConfig.REFRESH_ORDER)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        event.snapshots()
+                .filter(review -> review.getCourseId() != null && schoolSnapshots.hasCourses(review.getCourseSchool()))
+                .map(ReviewSnapshot::getCourseId)
+                .distinct()
+                .forEach(courseId -> courseRepository.findById(courseId).ifPresent(course ->
+                        schoolSnapshots.updateCourse(course.getSchool(),
+                                mapToResponse(course, courseStatsService.getStats(courseId)))));
+    }
+
+    private List<CourseResponse> mapToResponses(List<Course> courses) {
+        List<Long> ids = courses.stream().map(Course::getId).collect(Collectors.toList());
+        return mapToResponses(courses, courseStatsService.getStats(ids));
+    }
+
+    private List<CourseResponse> mapToResponses(List<Course> courses, Map<Long, CourseStats> stats) {
+        return courses.stream()
+                .map(course -> mapToResponse(course,
+                        stats.getOrDefault(course.getId(), new CourseStats(course.getId()))))
                 .collect(Collectors.toList());
     }
 
-    private CourseResponse mapToResponse(Course course) {
+    private CourseResponse mapToResponse(Course course, CourseStats stats) {
         CourseResponse response = new CourseResponse();
         response.setId(course.getId());
         response.setCode(course.getCode());
@@ -58,16 +138,12 @@ public class CourseServiceImpl implements CourseService {
         response.setProfessorName(course.getProfessor().getName());
         response.setProfessorId(course.getProfessor().getId());
 
-        // Calculate average rating
-        Double avgRating = reviewRepository.getAverageRatingForCourse(course.getId());
-        response.setAverageRating(avgRating);
-
-        // Get review count
-        int reviewCount = course.getReviews().size();
-        response.setReviewCount(reviewCount);
+        // Aggregates come from the materialized course stats, reviews are never loaded here
+        response.setAverageRating(stats.getAverageRating());
+        response.setReviewCount((int) stats.getReviewCount());
 
-        // Calculate difficulty
-        String difficulty = reviewService.calculateDifficulty(course.getReviews());
+        String difficulty = reviewService.calculateDifficulty(
+                stats.getEasyCount(), stats.getModerateCount(), stats.getHardCount());
         response.setDifficulty(difficulty);
 
         return response;
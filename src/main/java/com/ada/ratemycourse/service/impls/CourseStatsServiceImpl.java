@@ -0,0 +1,67 @@
+package com.ada.ratemycourse.service.impls;
+
+import com.ada.ratemycourse.model.CourseStats;
+import com.ada.ratemycourse.model.Difficulty;
+import com.ada.ratemycourse.repository.CourseStatsRepository;
+import com.ada.ratemycourse.service.CourseStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class CourseStatsServiceImpl implements CourseStatsService {
+
+    @Autowired
+    private CourseStatsRepository courseStatsRepository;
+
+    public CourseStats getStats(Long courseId) {
+        return courseStatsRepository.findById(courseId)
+                .orElseGet(() -> new CourseStats(courseId));
+    }
+
+    public Map<Long, CourseStats> getStats(Collection<Long> courseIds) {
+        return courseStatsRepository.findAllById(courseIds).stream()
+                .collect(Collectors.toMap(CourseStats::getCourseId, Function.identity()));
+    }
+
+    public Map<Long, CourseStats> getAllStats() {
+        return courseStatsRepository.findAll().stream()
+                .collect(Collectors.toMap(CourseStats::getCourseId, Function.identity()));
+    }
+
+    @Transactional
+    public void recordReviewAdded(Long courseId, Double rating, Difficulty difficulty) {
+        applyDelta(courseId, 1, rating, difficulty);
+    }
+
+    @Transactional
+    public void recordReviewRemoved(Long courseId, Double rating, Difficulty difficulty) {
+        applyDelta(courseId, -1, rating, difficulty);
+    }
+
+    // Applies a combined delta, e.g. the sum of a batch of inserted reviews for one course
+    @Transactional
+    public void recordDelta(CourseStats delta) {
+        courseStatsRepository.applyDelta(delta.getCourseId(), delta.getReviewCount(),
+                delta.getRatingSum(), delta.getEasyCount(), delta.getModerateCount(), delta.getHardCount());
+    }
+
+    @Transactional
+    public void rebuild() {
+        courseStatsRepository.deleteAllInBatch();
+        courseStatsRepository.rebuildFromReviews();
+    }
+
+    private void applyDelta(Long courseId, int sign, Double rating, Difficulty difficulty) {
+        if (courseId == null) return;
+
+        CourseStats delta = new CourseStats(courseId);
+        delta.addReview(sign, rating, difficulty);
+        recordDelta(delta);
+    }
+}
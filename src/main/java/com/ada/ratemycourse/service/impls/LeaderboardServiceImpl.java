@@ -0,0 +1,208 @@
+package com.ada.ratemycourse.service.impls;
+
+import com.ada.ratemycourse.config.CacheConfig;
+import com.ada.ratemycourse.dto.CourseResponse;
+import com.ada.ratemycourse.dto.LeaderboardEntry;
+import com.ada.ratemycourse.dto.PageResponse;
+import com.ada.ratemycourse.dto.ProfessorResponse;
+import com.ada.ratemycourse.event.CatalogRebuiltEvent;
+import com.ada.ratemycourse.event.ReviewChangedEvent;
+import com.ada.ratemycourse.event.ReviewSnapshot;
+import com.ada.ratemycourse.model.Course;
+import com.ada.ratemycourse.model.CourseStats;
+import com.ada.ratemycourse.ranking.Leaderboard;
+import com.ada.ratemycourse.repository.CourseRepository;
+import com.ada.ratemycourse.repository.ProfessorRepository;
+import com.ada.ratemycourse.repository.projection.ProfessorSummary;
+import com.ada.ratemycourse.service.CourseStatsService;
+import com.ada.ratemycourse.service.LeaderboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+// Serves the top lists from in-memory leaderboards, patched by review events and rebuilt from
+// course_stats and the professor summaries at startup and after catalog rebuilds
+@Service
+public class LeaderboardServiceImpl implements LeaderboardService {
+
+    private static final String ALL = "all";
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ProfessorRepository professorRepository;
+
+    @Autowired
+    private CourseStatsService courseStatsService;
+
+    // How many reviews' worth of the overall mean every entry starts from
+    @Value("${ratemycourse.leaderboards.prior-weight:10}")
+    private double priorWeight;
+
+    @Value("${ratemycourse.leaderboards.min-reviews:3}")
+    private int minReviews;
+
+    private volatile Leaderboard<CourseResponse> courses = new Leaderboard<>(List.of(), 1, 1);
+    private volatile Leaderboard<ProfessorResponse> professors = new Leaderboard<>(List.of(), 1, 1);
+
+    private enum Sort {
+        BEST(Leaderboard.Metric.RATING, true),
+        WORST(Leaderboard.Metric.RATING, false),
+        EASIEST(Leaderboard.Metric.EASE, true),
+        HARDEST(Leaderboard.Metric.EASE, false);
+
+        private final Leaderboard.Metric metric;
+        private final boolean highestFirst;
+
+        Sort(Leaderboard.Metric metric, boolean highestFirst) {
+            this.metric = metric;
+            this.highestFirst = highestFirst;
+        }
+
+        static Sort of(String value) {
+            for (Sort sort : values()) {
+                if (sort.name().equals(value.toUpperCase(Locale.ROOT))) {
+                    return sort;
+                }
+            }
+            throw new IllegalArgumentException("Unknown sort: " + value);
+        }
+    }
+
+    public List<LeaderboardEntry<CourseResponse>> topCourses(String school, String department, String sort,
+                                                             int limit) {
+        return top(courses, school, department, sort, limit, CourseResponse::getSchool, this::toCourseResponse);
+    }
+
+    public List<LeaderboardEntry<ProfessorResponse>> topProfessors(String school, String department, String sort,
+                                                                   int limit) {
+        return top(professors, school, department, sort, limit, ProfessorResponse::getSchool,
+                this::toProfessorResponse);
+    }
+
+    public void rebuild() {
+        Map<Long, CourseStats> stats = courseStatsService.getAllStats();
+        List<Leaderboard.Entry<CourseResponse>> courseEntries = new ArrayList<>();
+        for (Course course : courseRepository.findAllWithProfessor()) {
+            CourseStats courseStats = stats.getOrDefault(course.getId(), new CourseStats(course.getId()));
+            CourseResponse info = new CourseResponse();
+            info.setId(course.getId());
+            info.setCode(course.getCode());
+            info.setTitle(course.getTitle());
+            info.setSchool(course.getSchool());
+            info.setDepartment(course.getDepartment());
+            info.setProfessorName(course.getProfessor().getName());
+            info.setProfessorId(course.getProfessor().getId());
+            courseEntries.add(new Leaderboard.Entry<>(course.getId(), info,
+                    scopes(course.getSchool(), course.getDepartment()), courseStats.getReviewCount(),
+                    courseStats.getRatingSum(), courseStats.getEasyCount(), courseStats.getModerateCount(),
+                    courseStats.getHardCount()));
+        }
+
+        List<Leaderboard.Entry<ProfessorResponse>> professorEntries = new ArrayList<>();
+        for (ProfessorSummary summary : professorRepository.findAllSummaries()) {
+            ProfessorResponse info = new ProfessorResponse();
+            info.setId(summary.getId());
+            info.setName(summary.getName());
+            info.setSchool(summary.getSchool());
+            info.setDepartment(summary.getDepartment());
+            info.setCoursesCount(summary.getCoursesCount().intValue());
+            long reviewCount = summary.getReviewCount();
+            double ratingSum = reviewCount > 0 ? summary.getAverageRating() * reviewCount : 0;
+            professorEntries.add(new Leaderboard.Entry<>(summary.getId(), info,
+                    scopes(summary.getSchool(), summary.getDepartment()), reviewCount, ratingSum,
+                    summary.getEasyCount(), summary.getModerateCount(), summary.getHardCount()));
+        }
+
+        courses = new Leaderboard<>(courseEntries, priorWeight, minReviews);
+        professors = new Leaderboard<>(professorEntries, priorWeight, minReviews);
+    }
+
+    // A write that lands while rebuild() is reading can be missed until the next rebuild
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(CacheConfig.REFRESH_ORDER)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        if (event.getBefore() != null) {
+            record(event.getBefore(), -1);
+        }
+        if (event.getAfter() != null) {
+            record(event.getAfter(), 1);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(CacheConfig.REFRESH_ORDER)
+    public void onCatalogRebuilt(CatalogRebuiltEvent event) {
+        rebuild();
+    }
+
+    private void record(ReviewSnapshot review, int sign) {
+        courses.record(review.getCourseId(), sign, review.getRating(), review.getDifficulty());
+        professors.record(review.getProfessorId(), sign, review.getRating(), review.getDifficulty());
+    }
+
+    private static List<String> scopes(String school, String department) {
+        return List.of(ALL, "school:" + school, "department:" + department);
+    }
+
+    // Department names are ranked across schools; with both filters the department list is walked
+    // and entries from other schools skipped
+    private <T> List<LeaderboardEntry<T>> top(Leaderboard<T> board, String school, String department,
+                                              String sortName, int limit, Function<T, String> schoolOf,
+                                              Function<Leaderboard.Entry<T>, T> mapper) {
+        Sort sort = Sort.of(sortName);
+        String scope = department != null ? "department:" + department
+                : school != null ? "school:" + school
+                : ALL;
+
+        List<Leaderboard.Entry<T>> entries = board.top(scope, sort.metric, sort.highestFirst,
+                PageResponse.clampLimit(limit),
+                entry -> department == null || school == null || school.equals(schoolOf.apply(entry.getInfo())));
+
+        List<LeaderboardEntry<T>> top = new ArrayList<>(entries.size());
+        for (Leaderboard.Entry<T> entry : entries) {
+            top.add(new LeaderboardEntry<>(top.size() + 1, board.score(entry, sort.metric), mapper.apply(entry)));
+        }
+        return top;
+    }
+
+    // The stored info is shared, every response gets its own copy with the current numbers
+    private CourseResponse toCourseResponse(Leaderboard.Entry<CourseResponse> entry) {
+        CourseResponse info = entry.getInfo();
+        CourseResponse response = new CourseResponse();
+        response.setId(info.getId());
+        response.setCode(info.getCode());
+        response.setTitle(info.getTitle());
+        response.setSchool(info.getSchool());
+        response.setDepartment(info.getDepartment());
+        response.setProfessorName(info.getProfessorName());
+        response.setProfessorId(info.getProfessorId());
+        response.setAverageRating(entry.getAverageRating());
+        response.setReviewCount((int) entry.getReviewCount());
+        response.setDifficulty(entry.getDifficulty());
+        return response;
+    }
+
+    private ProfessorResponse toProfessorResponse(Leaderboard.Entry<ProfessorResponse> entry) {
+        ProfessorResponse info = entry.getInfo();
+        ProfessorResponse response = new ProfessorResponse();
+        response.setId(info.getId());
+        response.setName(info.getName());
+        response.setSchool(info.getSchool());
+        response.setDepartment(info.getDepartment());
+        response.setCoursesCount(info.getCoursesCount());
+        response.setAverageRating(entry.getAverageRating());
+        response.setReviewCount((int) entry.getReviewCount());
+        response.setDifficulty(entry.getDifficulty());
+        return response;
+    }
+}
@@ -1,136 +1,210 @@
 package com.ada.ratemycourse.service.impls;
 
+import com.ada.ratemycourse.cache.SchoolSnapshots;
+import com.ada.ratemycourse.config.CacheConfig;
 import com.ada.ratemycourse.dto.CourseResponse;
+import com.ada.ratemycourse.dto.PageResponse;
 import com.ada.ratemycourse.dto.ProfessorResponse;
-import com.ada.ratemycourse.model.Course;
-import com.ada.ratemycourse.model.Professor;
-import com.ada.ratemycourse.model.Review;
+import com.ada.ratemycourse.event.ReviewChangedEvent;
+import com.ada.ratemycourse.event.ReviewSnapshot;
 import com.ada.ratemycourse.repository.ProfessorRepository;
-import com.ada.ratemycourse.repository.ReviewRepository;
+import com.ada.ratemycourse.repository.projection.ProfessorCourseRow;
+import com.ada.ratemycourse.repository.projection.ProfessorSummary;
+import com.ada.ratemycourse.search.CatalogSearchIndex;
 import com.ada.ratemycourse.service.ProfessorService;
 import com.ada.ratemycourse.service.ReviewService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class ProfessorServiceImpl implements ProfessorService {
 
+    private static final int STREAM_BATCH_SIZE = 500;
+
     @Autowired
     private ProfessorRepository professorRepository;
 
     @Autowired
-    private ReviewRepository reviewRepository;
+    private ReviewService reviewService;
 
     @Autowired
-    private ReviewService reviewService;
+    private CatalogSearchIndex searchIndex;
 
+    @Autowired
+    private SchoolSnapshots schoolSnapshots;
+
+    @Cacheable(cacheNames = CacheConfig.PROFESSOR_LIST, key = "'" + CacheConfig.ALL + "'")
     public List<ProfessorResponse> getAllProfessors() {
-        return professorRepository.findAll().stream()
+        return professorRepository.findAllSummaries().stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    @Cacheable(CacheConfig.PROFESSORS_BY_NAME)
     public ProfessorResponse getProfessorByName(String name) {
-        Professor professor = professorRepository.findByName(name)
-                .orElseThrow(() -> new RuntimeException("Professor not found"));
-        return mapToResponseWithCourses(professor);
+        return mapToResponseWithCourses(professorRepository.findDetailRowsByName(name));
     }
 
+    @Cacheable(CacheConfig.PROFESSORS)
     public ProfessorResponse getProfessorById(Long id) {
-        Professor professor = professorRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Professor not found"));
-        return mapToResponseWithCourses(professor);
+        return mapToResponseWithCourses(professorRepository.findDetailRowsById(id));
     }
 
     public List<ProfessorResponse> searchProfessors(String query) {
-        return professorRepository.searchProfessors(query).stream()
+        if (!searchIndex.isReady()) {
+            return professorRepository.searchSummaries(query).stream()
+                    .map(this::mapToResponse)
+                    .collect(Collectors.toList());
+        }
+
+        List<Long> ids = searchIndex.searchProfessors(query);
+        if (ids.isEmpty()) return List.of();
+
+        return professorRepository.findSummariesByIdIn(ids).stream()
+                .sorted(Comparator.comparingInt(summary -> ids.indexOf(summary.getId())))
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    // Served from the school snapshot, the database is only read the first time a school is asked for
     public List<ProfessorResponse> getProfessorsBySchool(String school) {
-        return professorRepository.findBySchool(school).stream()
+        return schoolSnapshots.professors(school, s -> professorRepository.findSummariesBySchool(s).stream()
                 .map(this::mapToResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
-    private ProfessorResponse mapToResponse(Professor professor) {
-        ProfessorResponse response = new ProfessorResponse();
-        response.setId(professor.getId());
-        response.setName(professor.getName());
-        response.setSchool(professor.getSchool());
-        response.setDepartment(professor.getDepartment());
-        response.setCoursesCount(professor.getCourses().size());
+    public PageResponse<ProfessorResponse> getProfessorsPage(Long cursor, int limit) {
+        int size = PageResponse.clampLimit(limit);
+        List<ProfessorSummary> summaries = professorRepository.findSummaryPageAfter(
+                cursor != null ? cursor : 0L, size);
 
-        // Get all reviews for this professor (from all their courses + direct professor reviews)
-        List<Review> allReviews = new ArrayList<>();
+        String next = summaries.size() == size
+                ? String.valueOf(summaries.get(summaries.size() - 1).getId())
+                : null;
+        List<ProfessorResponse> items = summaries.stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        return new PageResponse<>(items, next);
+    }
 
-        // Add direct professor reviews
-        allReviews.addAll(professor.getReviews());
+    public void forEachProfessor(Consumer<ProfessorResponse> consumer) {
+        long cursor = 0L;
+        List<ProfessorSummary> batch;
+        do {
+            batch = professorRepository.findSummaryPageAfter(cursor, STREAM_BATCH_SIZE);
+            batch.stream().map(this::mapToResponse).forEach(consumer);
+            if (!batch.isEmpty()) {
+                cursor = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == STREAM_BATCH_SIZE);
+    }
 
-        // Add reviews from all courses taught by this professor
-        for (Course course : professor.getCourses()) {
-            allReviews.addAll(course.getReviews());
-        }
+    // Replaces the credited professor in its school snapshot once the review change has committed.
+    // The summary only reads that professor's reviews through the course and professor indexes
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(CacheConfig.REFRESH_ORDER)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        event.snapshots()
+                .filter(review -> review.getProfessorId() != null
+                        && schoolSnapshots.hasProfessors(review.getProfessorSchool()))
+                .map(ReviewSnapshot::getProfessorId)
+                .distinct()
+                .forEach(professorId -> professorRepository.findSummaryById(professorId).ifPresent(summary ->
+                        schoolSnapshots.updateProfessor(summary.getSchool(), mapToResponse(summary))));
+    }
 
-        // Calculate average rating
-        if (!allReviews.isEmpty()) {
-            Double avgRating = allReviews.stream()
-                    .mapToDouble(Review::getRating)
-                    .average()
-                    .orElse(0.0);
-            response.setAverageRating(avgRating);
+    // Builds the response from the grouped projection, no Review entity is loaded
+    private ProfessorResponse mapToResponse(ProfessorSummary summary) {
+        ProfessorResponse response = new ProfessorResponse();
+        response.setId(summary.getId());
+        response.setName(summary.getName());
+        response.setSchool(summary.getSchool());
+        response.setDepartment(summary.getDepartment());
+        response.setCoursesCount(summary.getCoursesCount().intValue());
+
+        long reviewCount = summary.getReviewCount();
+        if (reviewCount > 0) {
+            response.setAverageRating(summary.getAverageRating());
         }
-
-        response.setReviewCount(allReviews.size());
+        response.setReviewCount((int) reviewCount);
 
         // Calculate difficulty
-        String difficulty = reviewService.calculateDifficulty(allReviews);
+        String difficulty = reviewService.calculateDifficulty(
+                summary.getEasyCount(), summary.getModerateCount(), summary.getHardCount());
         response.setDifficulty(difficulty);
 
         return response;
     }
 
-    private ProfessorResponse mapToResponseWithCourses(Professor professor) {
-        ProfessorResponse response = mapToResponse(professor);
+    // Builds the detail from the per-course rows; professor totals are the sums of the course numbers
+    private ProfessorResponse mapToResponseWithCourses(List<ProfessorCourseRow> rows) {
+        if (rows.isEmpty()) {
+            throw new RuntimeException("Professor not found");
+        }
+
+        ProfessorCourseRow professor = rows.get(0);
+        ProfessorResponse response = new ProfessorResponse();
+        response.setId(professor.getProfessorId());
+        response.setName(professor.getProfessorName());
+        response.setSchool(professor.getProfessorSchool());
+        response.setDepartment(professor.getProfessorDepartment());
+
+        long reviewCount = 0, easy = 0, moderate = 0, hard = 0;
+        double ratingSum = 0;
+        List<CourseResponse> courses = new ArrayList<>(rows.size());
+        for (ProfessorCourseRow row : rows) {
+            // Same name lookups can match several professors, keep the first one's rows
+            if (!row.getProfessorId().equals(professor.getProfessorId())) continue;
+
+            reviewCount += row.getReviewCount();
+            ratingSum += row.getRatingSum();
+            easy += row.getEasyCount();
+            moderate += row.getModerateCount();
+            hard += row.getHardCount();
+            if (row.getCourseId() != null) {
+                courses.add(mapCourseToResponse(row));
+            }
+        }
 
-        // Add courses
-        List<CourseResponse> courses = professor.getCourses().stream()
-                .map(this::mapCourseToResponse)
-                .collect(Collectors.toList());
+        response.setCoursesCount(courses.size());
+        response.setReviewCount((int) reviewCount);
+        if (reviewCount > 0) {
+            response.setAverageRating(ratingSum / reviewCount);
+        }
+        response.setDifficulty(reviewService.calculateDifficulty(easy, moderate, hard));
         response.setCourses(courses);
 
         return response;
     }
 
-    private CourseResponse mapCourseToResponse(Course course) {
+    private CourseResponse mapCourseToResponse(ProfessorCourseRow row) {
         CourseResponse response = new CourseResponse();
-        response.setId(course.getId());
-        response.setCode(course.getCode());
-        response.setTitle(course.getTitle());
-        response.setSchool(course.getSchool());
-        response.setDepartment(course.getDepartment());
-        response.setProfessorName(course.getProfessor().getName());
-        response.setProfessorId(course.getProfessor().getId());
-
-        // Calculate average rating for this course
-        List<Review> reviews = course.getReviews();
-        if (!reviews.isEmpty()) {
-            Double avgRating = reviews.stream()
-                    .mapToDouble(Review::getRating)
-                    .average()
-                    .orElse(0.0);
-            response.setAverageRating(avgRating);
+        response.setId(row.getCourseId());
+        response.setCode(row.getCode());
+        response.setTitle(row.getTitle());
+        response.setSchool(row.getSchool());
+        response.setDepartment(row.getDepartment());
+        response.setProfessorName(row.getProfessorName());
+        response.setProfessorId(row.getProfessorId());
+
+        long reviewCount = row.getReviewCount();
+        if (reviewCount > 0) {
+            response.setAverageRating(row.getRatingSum() / reviewCount);
         }
-
-        response.setReviewCount(reviews.size());
+        response.setReviewCount((int) reviewCount);
 
         // Calculate difficulty
-        String difficulty = reviewService.calculateDifficulty(reviews);
+        String difficulty = reviewService.calculateDifficulty(
+                row.getEasyCount(), row.getModerateCount(), row.getHardCount());
         response.setDifficulty(difficulty);
 
         return response;
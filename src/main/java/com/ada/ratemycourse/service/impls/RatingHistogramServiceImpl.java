@@ -0,0 +1,140 @@
+package com.ada.ratemycourse.service.impls;
+
+import com.ada.ratemycourse.dto.RatingHistogramResponse;
+import com.ada.ratemycourse.event.ReviewSnapshot;
+import com.ada.ratemycourse.model.Course;
+import com.ada.ratemycourse.model.Difficulty;
+import com.ada.ratemycourse.model.RatingHistogramBucket;
+import com.ada.ratemycourse.repository.CourseRepository;
+import com.ada.ratemycourse.repository.ProfessorRepository;
+import com.ada.ratemycourse.repository.RatingHistogramRepository;
+import com.ada.ratemycourse.service.RatingHistogramService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.ada.ratemycourse.model.RatingHistogramBucket.COURSE;
+import static com.ada.ratemycourse.model.RatingHistogramBucket.DIFFICULTY;
+import static com.ada.ratemycourse.model.RatingHistogramBucket.PROFESSOR;
+import static com.ada.ratemycourse.model.RatingHistogramBucket.RATING;
+import static com.ada.ratemycourse.model.RatingHistogramBucket.TERM;
+
+@Service
+public class RatingHistogramServiceImpl implements RatingHistogramService {
+
+    @Autowired
+    private RatingHistogramRepository ratingHistogramRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ProfessorRepository professorRepository;
+
+    public RatingHistogramResponse getCourseHistogram(String code) {
+        Course course = courseRepository.findByCode(code)
+                .orElseThrow(() -> new RuntimeException("Course not found"));
+        return toResponse(ratingHistogramRepository.findBySubjectTypeAndSubjectId(COURSE, course.getId()));
+    }
+
+    public RatingHistogramResponse getProfessorHistogram(Long professorId) {
+        if (!professorRepository.existsById(professorId)) {
+            throw new RuntimeException("Professor not found");
+        }
+        return toResponse(ratingHistogramRepository.findBySubjectTypeAndSubjectId(PROFESSOR, professorId));
+    }
+
+    @Transactional
+    public void recordReviewAdded(ReviewSnapshot review) {
+        Map<RatingHistogramBucket.Key, Long> deltas = new HashMap<>();
+        addDeltas(deltas, review, 1);
+        applyDeltas(deltas);
+    }
+
+    @Transactional
+    public void recordReviewRemoved(ReviewSnapshot review) {
+        Map<RatingHistogramBucket.Key, Long> deltas = new HashMap<>();
+        addDeltas(deltas, review, -1);
+        applyDeltas(deltas);
+    }
+
+    // Coalesces a batch so each counter is written once, e.g. for the queued review writer
+    @Transactional
+    public void recordReviewsAdded(Collection<ReviewSnapshot> reviews) {
+        Map<RatingHistogramBucket.Key, Long> deltas = new HashMap<>();
+        reviews.forEach(review -> addDeltas(deltas, review, 1));
+        applyDeltas(deltas);
+    }
+
+    @Transactional
+    public void rebuild() {
+        ratingHistogramRepository.deleteAllInBatch();
+        ratingHistogramRepository.rebuildFromReviews();
+    }
+
+    private void addDeltas(Map<RatingHistogramBucket.Key, Long> deltas, ReviewSnapshot review, int sign) {
+        if (review.getCourseId() != null) {
+            addSubjectDeltas(deltas, COURSE, review.getCourseId(), review, sign);
+        }
+        if (review.getProfessorId() != null) {
+            addSubjectDeltas(deltas, PROFESSOR, review.getProfessorId(), review, sign);
+        }
+    }
+
+    private void addSubjectDeltas(Map<RatingHistogramBucket.Key, Long> deltas, String subjectType, Long subjectId,
+                                  ReviewSnapshot review, int sign) {
+        deltas.merge(new RatingHistogramBucket.Key(subjectType, subjectId, RATING, ratingBucket(review.getRating())),
+                (long) sign, Long::sum);
+        deltas.merge(new RatingHistogramBucket.Key(subjectType, subjectId, DIFFICULTY,
+                review.getDifficulty().getLabel()), (long) sign, Long::sum);
+        if (review.getSemester() != null && review.getYear() != null) {
+            deltas.merge(new RatingHistogramBucket.Key(subjectType, subjectId, TERM,
+                    review.getYear() + "-" + review.getSemester()), (long) sign, Long::sum);
+        }
+    }
+
+    private void applyDeltas(Map<RatingHistogramBucket.Key, Long> deltas) {
+        deltas.forEach((key, delta) -> {
+            if (delta != 0) {
+                ratingHistogramRepository.applyDelta(
+                        key.getSubjectType(), key.getSubjectId(), key.getDimension(), key.getBucket(), delta);
+            }
+        });
+    }
+
+    private static String ratingBucket(Double rating) {
+        return Integer.toString((int) Math.floor(rating));
+    }
+
+    private RatingHistogramResponse toResponse(List<RatingHistogramBucket> buckets) {
+        RatingHistogramResponse response = new RatingHistogramResponse();
+        // Fixed buckets are always present so clients can draw empty bars
+        for (int stars = 1; stars <= 5; stars++) {
+            response.getRatings().put(Integer.toString(stars), 0L);
+        }
+        for (Difficulty difficulty : Difficulty.values()) {
+            response.getDifficulties().put(difficulty.getLabel(), 0L);
+        }
+
+        for (RatingHistogramBucket bucket : buckets) {
+            if (bucket.getReviewCount() == 0) continue;
+
+            switch (bucket.getDimension()) {
+                case RATING -> {
+                    response.getRatings().put(bucket.getBucket(), bucket.getReviewCount());
+                    response.setReviewCount(response.getReviewCount() + bucket.getReviewCount());
+                }
+                case DIFFICULTY -> response.getDifficulties().put(bucket.getBucket(), bucket.getReviewCount());
+                case TERM -> response.getTerms().put(bucket.getBucket(), bucket.getReviewCount());
+                default -> {
+                }
+            }
+        }
+        return response;
+    }
+}
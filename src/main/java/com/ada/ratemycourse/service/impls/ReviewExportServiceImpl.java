@@ -0,0 +1,145 @@
+package com.ada.ratemycourse.service.impls;
+
+import com.ada.ratemycourse.importer.ImportFormat;
+import com.ada.ratemycourse.service.ReviewExportService;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class ReviewExportServiceImpl implements ReviewExportService {
+
+    private static final String[] COLUMNS = {
+            "review_id", "created_at", "rating", "difficulty", "semester", "year", "course_code", "course_title",
+            "school", "department", "professor_id", "professor_name", "text"
+    };
+
+    // Professor and school follow the attribution in ProfessorRepository: the course's, else the review's own
+    private static final String SELECT = "SELECT r.id, r.created_at, r.rating, r.difficulty, r.semester, r.year, " +
+            "c.code, c.title, COALESCE(c.school, p.school), COALESCE(c.department, p.department), " +
+            "COALESCE(cp.id, p.id), COALESCE(cp.name, p.name), r.text " +
+            "FROM reviews r " +
+            "LEFT JOIN courses c ON c.id = r.course_id " +
+            "LEFT JOIN professors cp ON cp.id = c.professor_id " +
+            "LEFT JOIN professors p ON p.id = r.professor_id ";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${ratemycourse.export.fetch-size:1000}")
+    private int fetchSize;
+
+    private JdbcTemplate cursorJdbcTemplate;
+
+    // Own template so the fetch size only applies here; on Postgres a fetch size inside a transaction
+    // makes the driver read through a server-side cursor instead of buffering the whole result
+    @PostConstruct
+    void init() {
+        cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        cursorJdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportReviews(ImportFormat format, String school, Integer year, OutputStream out)
+            throws IOException {
+        StringBuilder sql = new StringBuilder(SELECT).append("WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (school != null) {
+            sql.append(" AND COALESCE(c.school, p.school) = ?");
+            args.add(school);
+        }
+        if (year != null) {
+            sql.append(" AND r.year = ?");
+            args.add(year);
+        }
+        sql.append(" ORDER BY r.id");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == ImportFormat.CSV) {
+            writeCsvRow(writer, COLUMNS);
+        }
+
+        String[] values = new String[COLUMNS.length];
+        try {
+            cursorJdbcTemplate.query(sql.toString(), rs -> {
+                read(rs, values);
+                try {
+                    if (format == ImportFormat.CSV) {
+                        writeCsvRow(writer, values);
+                    } else {
+                        writeJsonRow(writer, values);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, args.toArray());
+        } catch (UncheckedIOException e) {
+            // Usually the client went away, stop reading
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private static void read(ResultSet rs, String[] values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            Object value = rs.getObject(i + 1);
+            values[i] = value == null ? null
+                    : value instanceof Timestamp timestamp ? timestamp.toLocalDateTime().toString()
+                    : value.toString();
+        }
+    }
+
+    private static void writeCsvRow(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) writer.write(',');
+            String value = values[i];
+            if (value == null) continue;
+
+            // Spreadsheets run cells starting with these as formulas, the quote makes them plain text
+            if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+                value = "'" + value;
+            }
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write('\n');
+    }
+
+    private void writeJsonRow(Writer writer, String[] values) throws IOException {
+        Map<String, String> row = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            row.put(COLUMNS[i], values[i]);
+        }
+        writer.write(objectMapper.writeValueAsString(row));
+        writer.write('\n');
+    }
+}
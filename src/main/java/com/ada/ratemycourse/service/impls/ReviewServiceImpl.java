@@ -1,24 +1,41 @@
 package com.ada.ratemycourse.service.impls;
 
+import com.ada.ratemycourse.dto.PageResponse;
 import com.ada.ratemycourse.dto.ReviewRequest;
 import com.ada.ratemycourse.dto.ReviewResponse;
+import com.ada.ratemycourse.dto.SessionUser;
+import com.ada.ratemycourse.event.ReviewChangedEvent;
+import com.ada.ratemycourse.event.ReviewSnapshot;
 import com.ada.ratemycourse.model.Course;
+import com.ada.ratemycourse.model.Difficulty;
 import com.ada.ratemycourse.model.Professor;
 import com.ada.ratemycourse.model.Review;
-import com.ada.ratemycourse.model.User;
 import com.ada.ratemycourse.repository.CourseRepository;
 import com.ada.ratemycourse.repository.ProfessorRepository;
 import com.ada.ratemycourse.repository.ReviewRepository;
+import com.ada.ratemycourse.repository.UserRepository;
+import com.ada.ratemycourse.repository.projection.OwnedReview;
+import com.ada.ratemycourse.repository.projection.ReviewView;
+import com.ada.ratemycourse.service.CourseStatsService;
+import com.ada.ratemycourse.service.RatingHistogramService;
 import com.ada.ratemycourse.service.ReviewService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class ReviewServiceImpl implements ReviewService {
 
+    private static final int STREAM_BATCH_SIZE = 500;
+
     @Autowired
     private ReviewRepository reviewRepository;
 
@@ -28,11 +45,25 @@ public class ReviewServiceImpl implements ReviewService {
     @Autowired
     private ProfessorRepository professorRepository;
 
-    public ReviewResponse createReview(ReviewRequest request, User currentUser) {
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseStatsService courseStatsService;
+
+    @Autowired
+    private RatingHistogramService ratingHistogramService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public ReviewResponse createReview(ReviewRequest request, SessionUser currentUser) {
         Review review = new Review();
-        review.setUser(currentUser);
+        // The session already holds the user id, a reference avoids loading the row
+        review.setUser(userRepository.getReferenceById(currentUser.getId()));
         review.setRating(request.getRating());
-        review.setDifficulty(request.getDifficulty());
+        review.setDifficulty(Difficulty.fromLabel(request.getDifficulty()));
         review.setText(request.getText());
         review.setSemester(request.getSemester());
         review.setYear(request.getYear());
@@ -50,89 +81,198 @@ public class ReviewServiceImpl implements ReviewService {
         }
 
         review = reviewRepository.save(review);
-        return mapToResponse(review, currentUser.getEmail());
+        ReviewSnapshot snapshot = ReviewSnapshot.of(review);
+        recordAdded(snapshot);
+        eventPublisher.publishEvent(new ReviewChangedEvent(null, snapshot));
+        return mapToResponse(review, currentUser);
     }
 
     public List<ReviewResponse> getReviewsForCourse(Long courseId, String currentUserEmail) {
-        return reviewRepository.findByCourseId(courseId).stream()
+        return reviewRepository.findViewsByCourseId(courseId).stream()
                 .map(review -> mapToResponse(review, currentUserEmail))
                 .collect(Collectors.toList());
     }
 
-    public List<ReviewResponse> getReviewsForProfessor(Long professorId, String currentUserEmail) {
-        // Get both direct professor reviews and course reviews
-        List<Review> directReviews = reviewRepository.findByProfessorId(professorId);
+    // Newest first, the cursor is the id of the last review on the previous page
+    public PageResponse<ReviewResponse> getReviewsForCoursePage(Long courseId, String currentUserEmail,
+                                                                Long cursor, int limit) {
+        int size = PageResponse.clampLimit(limit);
+        List<ReviewView> reviews = reviewRepository.findCourseViewPageBefore(
+                courseId, cursor != null ? cursor : Long.MAX_VALUE, PageRequest.of(0, size));
 
-        // Get all courses by this professor
-        Professor professor = professorRepository.findById(professorId)
-                .orElseThrow(() -> new RuntimeException("Professor not found"));
+        String next = reviews.size() == size
+                ? String.valueOf(reviews.get(reviews.size() - 1).getId())
+                : null;
+        List<ReviewResponse> items = reviews.stream()
+                .map(review -> mapToResponse(review, currentUserEmail))
+                .collect(Collectors.toList());
+        return new PageResponse<>(items, next);
+    }
 
-        List<Review> allReviews = directReviews;
+    public void forEachReviewForCourse(Long courseId, String currentUserEmail,
+                                       Consumer<ReviewResponse> consumer) {
+        long cursor = Long.MAX_VALUE;
+        List<ReviewView> batch;
+        do {
+            batch = reviewRepository.findCourseViewPageBefore(courseId, cursor, PageRequest.of(0, STREAM_BATCH_SIZE));
+            batch.stream()
+                    .map(review -> mapToResponse(review, currentUserEmail))
+                    .forEach(consumer);
+            if (!batch.isEmpty()) {
+                cursor = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == STREAM_BATCH_SIZE);
+    }
 
-        return allReviews.stream()
+    public List<ReviewResponse> getReviewsForProfessor(Long professorId, String currentUserEmail) {
+        // Reviews that name this professor directly
+        return reviewRepository.findViewsByProfessorId(professorId).stream()
                 .map(review -> mapToResponse(review, currentUserEmail))
                 .collect(Collectors.toList());
     }
 
-    public ReviewResponse updateReview(Long reviewId, ReviewRequest request, User currentUser) {
-        Review review = reviewRepository.findById(reviewId)
-                .orElseThrow(() -> new RuntimeException("Review not found"));
-
-        if (!review.getUser().getId().equals(currentUser.getId())) {
-            throw new RuntimeException("You can only edit your own reviews");
+    // Newest first; the cursor is "<createdAt>~<id>" of the last review on the previous page
+    public PageResponse<ReviewResponse> getReviewsForUserPage(SessionUser user, String cursor, int limit) {
+        int size = PageResponse.clampLimit(limit);
+        PageRequest page = PageRequest.of(0, size);
+        List<ReviewView> reviews;
+        if (cursor == null) {
+            reviews = reviewRepository.findUserViewPage(user.getId(), page);
+        } else {
+            int separator = cursor.lastIndexOf('~');
+            try {
+                reviews = reviewRepository.findUserViewPageBefore(user.getId(),
+                        LocalDateTime.parse(cursor.substring(0, separator)),
+                        Long.valueOf(cursor.substring(separator + 1)), page);
+            } catch (DateTimeParseException | IndexOutOfBoundsException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
         }
 
-        review.setRating(request.getRating());
-        review.setDifficulty(request.getDifficulty());
-        review.setText(request.getText());
-        review.setSemester(request.getSemester());
-        review.setYear(request.getYear());
+        ReviewView last = reviews.size() == size ? reviews.get(reviews.size() - 1) : null;
+        String next = last != null ? last.getCreatedAt() + "~" + last.getId() : null;
+        List<ReviewResponse> items = reviews.stream()
+                .map(review -> mapToResponse(review, user.getEmail()))
+                .collect(Collectors.toList());
+        return new PageResponse<>(items, next);
+    }
 
-        if (request.getCourseId() != null) {
-            Course course = courseRepository.findById(request.getCourseId())
+    // Ownership is checked by the write itself: one locking read of the old values for the aggregates,
+    // then a single conditional UPDATE keyed by (review id, user id). The lock makes concurrent edits of
+    // the same review take turns, so each one subtracts exactly what the previous one wrote.
+    @Transactional
+    public ReviewResponse updateReview(Long reviewId, ReviewRequest request, SessionUser currentUser) {
+        OwnedReview before = requireOwned(reviewId, currentUser, "edit");
+
+        Course course = null;
+        if (request.getCourseId() != null && !request.getCourseId().equals(before.getCourseId())) {
+            course = courseRepository.findById(request.getCourseId())
                     .orElseThrow(() -> new RuntimeException("Course not found"));
-            review.setCourse(course);
         }
 
-        review = reviewRepository.save(review);
-        return mapToResponse(review, currentUser.getEmail());
+        Difficulty difficulty = Difficulty.fromLabel(request.getDifficulty());
+        int updated = reviewRepository.updateOwned(reviewId, currentUser.getId(), request.getRating(),
+                difficulty.getLabel(), request.getText(), request.getSemester(), request.getYear(),
+                course != null ? course.getId() : null);
+        if (updated == 0) {
+            throw new RuntimeException("Review not found");
+        }
+
+        ReviewSnapshot oldSnapshot = before.toSnapshot();
+        ReviewSnapshot newSnapshot = before.toSnapshot();
+        newSnapshot.setRating(request.getRating());
+        newSnapshot.setDifficulty(difficulty);
+        newSnapshot.setSemester(request.getSemester());
+        newSnapshot.setYear(request.getYear());
+        if (course != null) {
+            newSnapshot.setCourseId(course.getId());
+            newSnapshot.setCourseCode(course.getCode());
+            newSnapshot.setCourseSchool(course.getSchool());
+            newSnapshot.setCourseDepartment(course.getDepartment());
+            newSnapshot.setProfessorId(course.getProfessor().getId());
+            newSnapshot.setProfessorName(course.getProfessor().getName());
+            newSnapshot.setProfessorSchool(course.getProfessor().getSchool());
+        }
+
+        recordRemoved(oldSnapshot);
+        recordAdded(newSnapshot);
+        eventPublisher.publishEvent(new ReviewChangedEvent(oldSnapshot, newSnapshot));
+
+        ReviewResponse response = new ReviewResponse();
+        response.setId(reviewId);
+        response.setRating(request.getRating());
+        response.setDifficulty(difficulty.getLabel());
+        response.setText(request.getText());
+        response.setSemester(request.getSemester());
+        response.setYear(request.getYear());
+        response.setCreatedAt(before.getCreatedAt());
+        response.setCourseCode(course != null ? course.getCode() : before.getCourseCode());
+        response.setCourseTitle(course != null ? course.getTitle() : before.getCourseTitle());
+        response.setProfessorName(before.getDirectProfessorName());
+        response.setCanEdit(true);
+        return response;
     }
 
-    public void deleteReview(Long reviewId, User currentUser) {
-        Review review = reviewRepository.findById(reviewId)
-                .orElseThrow(() -> new RuntimeException("Review not found"));
+    @Transactional
+    public void deleteReview(Long reviewId, SessionUser currentUser) {
+        OwnedReview review = requireOwned(reviewId, currentUser, "delete");
 
-        if (!review.getUser().getId().equals(currentUser.getId())) {
-            throw new RuntimeException("You can only delete your own reviews");
+        if (reviewRepository.deleteOwned(reviewId, currentUser.getId()) == 0) {
+            throw new RuntimeException("Review not found");
         }
 
-        reviewRepository.delete(review);
+        ReviewSnapshot snapshot = review.toSnapshot();
+        recordRemoved(snapshot);
+        eventPublisher.publishEvent(new ReviewChangedEvent(snapshot, null));
+    }
+
+    private OwnedReview requireOwned(Long reviewId, SessionUser currentUser, String action) {
+        OwnedReview review = reviewRepository.findOwned(reviewId, currentUser.getId());
+        if (review == null) {
+            // Only the failure path pays for telling the two cases apart
+            throw new RuntimeException(reviewRepository.existsById(reviewId)
+                    ? "You can only " + action + " your own reviews"
+                    : "Review not found");
+        }
+        return review;
+    }
+
+    private void recordAdded(ReviewSnapshot review) {
+        if (review.getCourseId() != null) {
+            courseStatsService.recordReviewAdded(review.getCourseId(), review.getRating(), review.getDifficulty());
+        }
+        ratingHistogramService.recordReviewAdded(review);
+    }
+
+    private void recordRemoved(ReviewSnapshot review) {
+        if (review.getCourseId() != null) {
+            courseStatsService.recordReviewRemoved(review.getCourseId(), review.getRating(), review.getDifficulty());
+        }
+        ratingHistogramService.recordReviewRemoved(review);
     }
 
     // Make this method public so other services can use it
     public String calculateDifficulty(List<Review> reviews) {
         if (reviews == null || reviews.isEmpty()) return null;
 
-        int score = 0;
+        long[] counts = new long[3];
         for (Review review : reviews) {
-            switch (review.getDifficulty()) {
-                case "Easy": score += 3; break;
-                case "Moderate": score += 1; break;
-                case "Hard": score += 0; break;
-            }
+            counts[review.getDifficulty().ordinal()]++;
         }
 
-        double avg = (double) score / reviews.size();
-        if (avg >= 2) return "Easy";
-        if (avg >= 0.5) return "Moderate";
-        return "Hard";
+        return calculateDifficulty(counts[0], counts[1], counts[2]);
     }
 
-    private ReviewResponse mapToResponse(Review review, String currentUserEmail) {
+    // Scores from bucket counts so callers with precomputed aggregates don't need the reviews
+    public String calculateDifficulty(long easyCount, long moderateCount, long hardCount) {
+        return Difficulty.scoreLabel(easyCount, moderateCount, hardCount);
+    }
+
+    private ReviewResponse mapToResponse(Review review, SessionUser currentUser) {
         ReviewResponse response = new ReviewResponse();
         response.setId(review.getId());
         response.setRating(review.getRating());
-        response.setDifficulty(review.getDifficulty());
+        response.setDifficulty(review.getDifficulty().getLabel());
         response.setText(review.getText());
         response.setSemester(review.getSemester());
         response.setYear(review.getYear());
@@ -147,9 +287,29 @@ public class ReviewServiceImpl implements ReviewService {
             response.setProfessorName(review.getProfessor().getName());
         }
 
-        // Check if current user can edit (either logged in user matches or no user email provided)
+        // Compared by id, which the user reference carries without being loaded
+        boolean canEdit = currentUser != null &&
+                review.getUser().getId().equals(currentUser.getId());
+        response.setCanEdit(canEdit);
+
+        return response;
+    }
+
+    private ReviewResponse mapToResponse(ReviewView review, String currentUserEmail) {
+        ReviewResponse response = new ReviewResponse();
+        response.setId(review.getId());
+        response.setRating(review.getRating());
+        response.setDifficulty(review.getDifficulty().getLabel());
+        response.setText(review.getText());
+        response.setSemester(review.getSemester());
+        response.setYear(review.getYear());
+        response.setCreatedAt(review.getCreatedAt());
+        response.setCourseCode(review.getCourseCode());
+        response.setCourseTitle(review.getCourseTitle());
+        response.setProfessorName(review.getProfessorName());
+
         boolean canEdit = currentUserEmail != null &&
-                review.getUser().getEmail().equals(currentUserEmail);
+                currentUserEmail.equals(review.getAuthorEmail());
         response.setCanEdit(canEdit);
 
         return response;
@@ -0,0 +1,352 @@
+package com.ada.ratemycourse.service.impls;
+
+import com.ada.ratemycourse.dto.ReviewReceipt;
+import com.ada.ratemycourse.dto.ReviewRequest;
+import com.ada.ratemycourse.dto.SessionUser;
+import com.ada.ratemycourse.event.ReviewChangedEvent;
+import com.ada.ratemycourse.event.ReviewSnapshot;
+import com.ada.ratemycourse.exception.ReviewQueueFullException;
+import com.ada.ratemycourse.model.Course;
+import com.ada.ratemycourse.model.CourseStats;
+import com.ada.ratemycourse.model.Difficulty;
+import com.ada.ratemycourse.model.Professor;
+import com.ada.ratemycourse.model.Review;
+import com.ada.ratemycourse.model.User;
+import com.ada.ratemycourse.repository.CourseRepository;
+import com.ada.ratemycourse.repository.ProfessorRepository;
+import com.ada.ratemycourse.service.CourseStatsService;
+import com.ada.ratemycourse.service.RatingHistogramService;
+import com.ada.ratemycourse.service.ReviewWriteQueue;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Optional write-behind path for review creation: requests are queued and a single writer
+// inserts them in JDBC batches, applying one course_stats delta per course per batch
+@Service
+public class ReviewWriteQueueImpl implements ReviewWriteQueue, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewWriteQueueImpl.class);
+
+    private static final String INSERT_SQL = "INSERT INTO reviews " +
+            "(user_id, course_id, professor_id, rating, difficulty, text, semester, year, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ProfessorRepository professorRepository;
+
+    @Autowired
+    private CourseStatsService courseStatsService;
+
+    @Autowired
+    private RatingHistogramService ratingHistogramService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${ratemycourse.reviews.write-mode:sync}")
+    private String writeMode;
+
+    @Value("${ratemycourse.reviews.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${ratemycourse.reviews.batch-size:500}")
+    private int batchSize;
+
+    @Value("${ratemycourse.reviews.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${ratemycourse.reviews.drain-timeout-ms:30000}")
+    private long drainTimeoutMs;
+
+    @Value("${ratemycourse.reviews.receipt-ttl-minutes:60}")
+    private long receiptTtlMinutes;
+
+    @Value("${ratemycourse.reviews.receipt-max-entries:100000}")
+    private long receiptMaxEntries;
+
+    private TransactionTemplate transactionTemplate;
+    private BlockingQueue<PendingReview> queue;
+    private Cache<String, TrackedReceipt> receipts;
+    private Thread writer;
+    private volatile boolean accepting;
+    private volatile boolean running;
+
+    private record PendingReview(String receiptId, Long userId, ReviewRequest request, LocalDateTime createdAt) {
+    }
+
+    // Receipts are only shown to the user who submitted the review
+    private record TrackedReceipt(Long userId, ReviewReceipt receipt) {
+    }
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        receipts = Caffeine.newBuilder()
+                .maximumSize(receiptMaxEntries)
+                .expireAfterWrite(Duration.ofMinutes(receiptTtlMinutes))
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return "async".equalsIgnoreCase(writeMode);
+    }
+
+    public ReviewReceipt submit(ReviewRequest request, SessionUser currentUser) {
+        if (!accepting) {
+            throw new ReviewQueueFullException();
+        }
+
+        // Reject unknown targets here rather than after the client has been given a receipt
+        if (request.getCourseId() != null && !courseRepository.existsById(request.getCourseId())) {
+            throw new IllegalArgumentException("Course not found");
+        }
+        if (request.getProfessorId() != null && !professorRepository.existsById(request.getProfessorId())) {
+            throw new IllegalArgumentException("Professor not found");
+        }
+
+        String receiptId = UUID.randomUUID().toString();
+        PendingReview pending = new PendingReview(receiptId, currentUser.getId(), request, LocalDateTime.now());
+        ReviewReceipt receipt = new ReviewReceipt(receiptId, ReviewReceipt.QUEUED, null);
+        receipts.put(receiptId, new TrackedReceipt(currentUser.getId(), receipt));
+        if (!queue.offer(pending)) {
+            receipts.invalidate(receiptId);
+            throw new ReviewQueueFullException();
+        }
+        // stop() may have drained the queue between the accepting check and the offer
+        if (!accepting && queue.remove(pending)) {
+            receipts.invalidate(receiptId);
+            throw new ReviewQueueFullException();
+        }
+        return receipt;
+    }
+
+    public ReviewReceipt getReceipt(String receiptId, SessionUser currentUser) {
+        TrackedReceipt tracked = receipts.getIfPresent(receiptId);
+        if (tracked == null || !tracked.userId().equals(currentUser.getId())) {
+            throw new IllegalArgumentException("Receipt not found");
+        }
+        return tracked.receipt();
+    }
+
+    @Override
+    public void start() {
+        if (!isEnabled() || running) return;
+
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        accepting = true;
+        writer = new Thread(this::drainLoop, "review-writer");
+        writer.start();
+    }
+
+    // Stops taking new reviews, then empties the queue before the datasource closes. Whatever the
+    // writer has not reached within the drain timeout is flushed from the stopping thread
+    @Override
+    public void stop() {
+        accepting = false;
+        running = false;
+        if (writer == null) return;
+
+        try {
+            writer.join(drainTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<PendingReview> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            log.info("Flushing {} queued reviews on shutdown", batch.size());
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server has finished its graceful shutdown
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drainLoop() {
+        List<PendingReview> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingReview first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Review writer failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingReview> batch) {
+        try {
+            markSaved(transactionTemplate.execute(status -> insert(batch)));
+        } catch (RuntimeException e) {
+            // One bad row fails the whole batch, retry row by row so the rest still lands
+            log.warn("Review batch of {} failed, retrying individually", batch.size(), e);
+            for (PendingReview pending : batch) {
+                try {
+                    markSaved(transactionTemplate.execute(status -> insert(List.of(pending))));
+                } catch (RuntimeException rowError) {
+                    log.error("Queued review {} could not be written", pending.receiptId(), rowError);
+                    markFailed(pending, "Review could not be saved");
+                }
+            }
+        }
+    }
+
+    private void markSaved(List<PendingReview> written) {
+        for (PendingReview pending : written) {
+            updateReceipt(pending, ReviewReceipt.SAVED, null);
+        }
+    }
+
+    private void markFailed(PendingReview pending, String error) {
+        updateReceipt(pending, ReviewReceipt.FAILED, error);
+    }
+
+    private void updateReceipt(PendingReview pending, String status, String error) {
+        receipts.put(pending.receiptId(), new TrackedReceipt(pending.userId(),
+                new ReviewReceipt(pending.receiptId(), status, error)));
+    }
+
+    // Returns the reviews that were written; the rest have had their receipt marked failed
+    private List<PendingReview> insert(List<PendingReview> batch) {
+        List<Long> courseIds = batch.stream().map(p -> p.request().getCourseId())
+                .filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        List<Long> professorIds = batch.stream().map(p -> p.request().getProfessorId())
+                .filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        Map<Long, Course> courses = courseRepository.findAllWithProfessorByIdIn(courseIds).stream()
+                .collect(Collectors.toMap(Course::getId, Function.identity()));
+        Map<Long, Professor> professors = professorRepository.findAllById(professorIds).stream()
+                .collect(Collectors.toMap(Professor::getId, Function.identity()));
+
+        List<Review> reviews = new ArrayList<>(batch.size());
+        List<PendingReview> written = new ArrayList<>(batch.size());
+        for (PendingReview pending : batch) {
+            Review review = toReview(pending, courses, professors);
+            if (review != null) {
+                reviews.add(review);
+                written.add(pending);
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, reviews, batchSize, (ps, review) -> {
+            ps.setLong(1, review.getUser().getId());
+            ps.setObject(2, review.getCourse() != null ? review.getCourse().getId() : null, Types.BIGINT);
+            ps.setObject(3, review.getProfessor() != null ? review.getProfessor().getId() : null, Types.BIGINT);
+            ps.setDouble(4, review.getRating());
+            ps.setString(5, review.getDifficulty().getLabel());
+            ps.setString(6, review.getText());
+            ps.setString(7, review.getSemester());
+            ps.setObject(8, review.getYear(), Types.INTEGER);
+            ps.setTimestamp(9, Timestamp.valueOf(review.getCreatedAt()));
+        });
+
+        // Coalesce the batch into one aggregate update per course
+        Map<Long, CourseStats> deltas = new HashMap<>();
+        for (Review review : reviews) {
+            if (review.getCourse() == null) continue;
+            deltas.computeIfAbsent(review.getCourse().getId(), CourseStats::new)
+                    .addReview(1, review.getRating(), review.getDifficulty());
+        }
+        deltas.values().forEach(courseStatsService::recordDelta);
+
+        List<ReviewSnapshot> snapshots = reviews.stream().map(ReviewSnapshot::of).collect(Collectors.toList());
+        ratingHistogramService.recordReviewsAdded(snapshots);
+
+        for (ReviewSnapshot snapshot : snapshots) {
+            eventPublisher.publishEvent(new ReviewChangedEvent(null, snapshot));
+        }
+        return written;
+    }
+
+    private Review toReview(PendingReview pending, Map<Long, Course> courses, Map<Long, Professor> professors) {
+        ReviewRequest request = pending.request();
+        Course course = null;
+        Professor professor = null;
+
+        if (request.getCourseId() != null) {
+            course = courses.get(request.getCourseId());
+            if (course == null) {
+                // Deleted between submit and write
+                log.warn("Queued review {}: course {} not found", pending.receiptId(), request.getCourseId());
+                markFailed(pending, "Course not found");
+                return null;
+            }
+        }
+        if (request.getProfessorId() != null) {
+            professor = professors.get(request.getProfessorId());
+            if (professor == null) {
+                log.warn("Queued review {}: professor {} not found", pending.receiptId(), request.getProfessorId());
+                markFailed(pending, "Professor not found");
+                return null;
+            }
+        }
+
+        User user = new User();
+        user.setId(pending.userId());
+
+        Review review = new Review();
+        review.setUser(user);
+        review.setCourse(course);
+        review.setProfessor(professor);
+        review.setRating(request.getRating());
+        review.setDifficulty(Difficulty.fromLabel(request.getDifficulty()));
+        review.setText(request.getText());
+        review.setSemester(request.getSemester());
+        review.setYear(request.getYear());
+        review.setCreatedAt(pending.createdAt());
+        return review;
+    }
+}
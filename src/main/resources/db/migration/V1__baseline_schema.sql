@@ -0,0 +1,46 @@
+-- Schema as previously generated by spring.jpa.hibernate.ddl-auto=update
+
+CREATE TABLE IF NOT EXISTS professors (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL,
+    school     VARCHAR(255) NOT NULL,
+    department VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS courses (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    code         VARCHAR(255) NOT NULL UNIQUE,
+    title        VARCHAR(255) NOT NULL,
+    school       VARCHAR(255) NOT NULL,
+    department   VARCHAR(255) NOT NULL,
+    professor_id BIGINT       NOT NULL REFERENCES professors (id)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email      VARCHAR(255) NOT NULL UNIQUE,
+    password   VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS reviews (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id      BIGINT        NOT NULL REFERENCES users (id),
+    course_id    BIGINT REFERENCES courses (id),
+    professor_id BIGINT REFERENCES professors (id),
+    rating       FLOAT(53)     NOT NULL,
+    difficulty   VARCHAR(255)  NOT NULL,
+    text         VARCHAR(2000) NOT NULL,
+    semester     VARCHAR(255),
+    year         INTEGER,
+    created_at   TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS course_stats (
+    course_id      BIGINT    NOT NULL PRIMARY KEY,
+    review_count   BIGINT    NOT NULL,
+    rating_sum     FLOAT(53) NOT NULL,
+    easy_count     BIGINT    NOT NULL,
+    moderate_count BIGINT    NOT NULL,
+    hard_count     BIGINT    NOT NULL
+);
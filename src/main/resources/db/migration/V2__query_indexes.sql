@@ -0,0 +1,24 @@
+-- Indexes for the filters and joins in CourseRepository, ProfessorRepository and ReviewRepository
+
+-- Reviews by course: findByCourseId, findViewsByCourseId, the course stats rebuild and the professor detail
+-- course rows. rating and difficulty are included so the aggregates can be answered from the index alone.
+CREATE INDEX IF NOT EXISTS idx_reviews_course ON reviews (course_id) INCLUDE (rating, difficulty);
+
+-- Reviews by named professor: findByProfessorId and the course-less rows of the professor detail
+CREATE INDEX IF NOT EXISTS idx_reviews_professor ON reviews (professor_id) INCLUDE (course_id, rating, difficulty);
+
+CREATE INDEX IF NOT EXISTS idx_reviews_user ON reviews (user_id);
+
+-- Courses by professor: findByProfessorId, the coursesCount subquery and the detail join
+CREATE INDEX IF NOT EXISTS idx_courses_professor ON courses (professor_id);
+
+CREATE INDEX IF NOT EXISTS idx_courses_school ON courses (school);
+CREATE INDEX IF NOT EXISTS idx_professors_school ON professors (school);
+CREATE INDEX IF NOT EXISTS idx_professors_name ON professors (name);
+
+-- Case-insensitive substring search: LOWER(column) LIKE '%query%' can use a trigram index on the same expression
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_courses_title_trgm ON courses USING gin (LOWER(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_courses_code_trgm ON courses USING gin (LOWER(code) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_professors_name_trgm ON professors USING gin (LOWER(name) gin_trgm_ops);
@@ -0,0 +1,10 @@
+-- Incrementally maintained review counters behind the course and professor histogram endpoints
+
+CREATE TABLE IF NOT EXISTS rating_histograms (
+    subject_type VARCHAR(16) NOT NULL,
+    subject_id   BIGINT      NOT NULL,
+    dimension    VARCHAR(16) NOT NULL,
+    bucket       VARCHAR(32) NOT NULL,
+    review_count BIGINT      NOT NULL,
+    PRIMARY KEY (subject_type, subject_id, dimension, bucket)
+);
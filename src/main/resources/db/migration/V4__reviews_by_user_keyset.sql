@@ -0,0 +1,5 @@
+-- Keyset paging of /api/reviews/me walks (created_at, id) newest first within one user.
+-- The composite index also serves plain user_id lookups, so the single-column one goes.
+CREATE INDEX IF NOT EXISTS idx_reviews_user_created ON reviews (user_id, created_at DESC, id DESC);
+
+DROP INDEX IF EXISTS idx_reviews_user;
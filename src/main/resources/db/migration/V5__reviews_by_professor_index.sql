@@ -0,0 +1,6 @@
+-- With course_id, rating and difficulty included, idx_reviews_professor covered the per-course aggregates
+-- as well and the planner could answer AVG(rating) WHERE course_id = ? from it with a filter. Only
+-- idx_reviews_course carries the aggregate columns; reviews by professor are a plain lookup.
+DROP INDEX IF EXISTS idx_reviews_professor;
+
+CREATE INDEX IF NOT EXISTS idx_reviews_professor ON reviews (professor_id);
@@ -0,0 +1,157 @@
+package com.ada.ratemycourse;
+
+import com.ada.ratemycourse.config.ConcurrencyLimitedDataSource;
+import com.ada.ratemycourse.service.CourseStatsService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Compares request throughput and p99 latency of platform vs virtual request threads on the
+// catalog read endpoints. Slow, so only runs with: ./mvnw test -Dtest=VirtualThreadLoadTests -Dloadtest=true
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class VirtualThreadLoadTests {
+
+    private static final int PROFESSORS = 50;
+    private static final int COURSES = 500;
+    private static final int REVIEWS = 20_000;
+
+    private static final int CONCURRENCY = 500;
+    private static final int WARMUP_REQUESTS = 2_000;
+    private static final int REQUESTS = 20_000;
+
+    private record Result(String mode, double throughput, double p50Ms, double p99Ms, int errors) {
+    }
+
+    @Test
+    void virtualThreadsKeepUpWithPlatformThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        for (Result result : List.of(platform, virtual)) {
+            System.out.printf("%-8s %10.0f req/s   p50 %7.2f ms   p99 %7.2f ms   errors %d%n",
+                    result.mode(), result.throughput(), result.p50Ms(), result.p99Ms(), result.errors());
+        }
+        assertThat(platform.errors()).isZero();
+        assertThat(virtual.errors()).isZero();
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(RatemycourseApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        // Every request has to reach JDBC, otherwise the warmed caches answer and neither
+                        // the connection limiter nor the pinning monitor is exercised
+                        "ratemycourse.warmup.enabled=false",
+                        "spring.cache.type=none",
+                        "ratemycourse.json-cache.enabled=false",
+                        "logging.level.root=WARN")
+                .run()) {
+
+            if (virtualThreads) {
+                assertThat(context.getBean(DataSource.class)).isInstanceOf(ConcurrencyLimitedDataSource.class);
+            }
+            seed(context.getBean(JdbcTemplate.class));
+            context.getBean(CourseStatsService.class).rebuild();
+
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+
+            fire(client, port, WARMUP_REQUESTS);
+            long start = System.nanoTime();
+            long[] latencies = new long[REQUESTS];
+            int errors = fire(client, port, latencies);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(latencies);
+            return new Result(mode, REQUESTS / seconds,
+                    latencies[REQUESTS / 2] / 1e6, latencies[(int) (REQUESTS * 0.99)] / 1e6, errors);
+        }
+    }
+
+    private int fire(HttpClient client, int port, int requests) throws InterruptedException {
+        return fire(client, port, new long[requests]);
+    }
+
+    // Keeps CONCURRENCY requests in flight, alternating a professor detail page and a course page
+    private int fire(HttpClient client, int port, long[] latencies) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        AtomicInteger errors = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < latencies.length; i++) {
+                int n = i;
+                String path = n % 2 == 0
+                        ? "/api/professors/id/" + (n % PROFESSORS + 1)
+                        : "/api/courses/CS" + (1000 + n % COURSES + 1);
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+
+                inFlight.acquire();
+                executor.submit(() -> {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        latencies[n] = System.nanoTime() - start;
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return errors.get();
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        List<Object[]> professors = new ArrayList<>(PROFESSORS);
+        for (int i = 1; i <= PROFESSORS; i++) {
+            professors.add(new Object[]{"Professor " + i, "SITE", "Computer Science"});
+        }
+        jdbc.batchUpdate("INSERT INTO professors (name, school, department) VALUES (?, ?, ?)", professors);
+
+        List<Object[]> courses = new ArrayList<>(COURSES);
+        for (int i = 1; i <= COURSES; i++) {
+            courses.add(new Object[]{"CS" + (1000 + i), "Course " + i, "SITE", "Computer Science",
+                    i % PROFESSORS + 1});
+        }
+        jdbc.batchUpdate("INSERT INTO courses (code, title, school, department, professor_id) VALUES (?, ?, ?, ?, ?)",
+                courses);
+
+        jdbc.update("INSERT INTO users (email, password, created_at) VALUES ('load@ada.edu.az', 'x', ?)",
+                Timestamp.valueOf(LocalDateTime.now()));
+        String[] difficulties = {"Easy", "Moderate", "Hard"};
+        List<Object[]> reviews = new ArrayList<>(REVIEWS);
+        for (int i = 0; i < REVIEWS; i++) {
+            reviews.add(new Object[]{1, i % COURSES + 1, 1 + i % 5, difficulties[i % 3], "Review " + i, "Fall", 2024,
+                    Timestamp.valueOf(LocalDateTime.now())});
+        }
+        jdbc.batchUpdate("INSERT INTO reviews (user_id, course_id, rating, difficulty, text, semester, year, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", reviews);
+    }
+}
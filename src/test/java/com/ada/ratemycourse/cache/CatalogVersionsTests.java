@@ -0,0 +1,87 @@
+package com.ada.ratemycourse.cache;
+
+import com.ada.ratemycourse.event.CatalogRebuiltEvent;
+import com.ada.ratemycourse.event.ReviewChangedEvent;
+import com.ada.ratemycourse.event.ReviewSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogVersionsTests {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    private CatalogVersions versions;
+
+    @BeforeEach
+    void setUp() {
+        versions = new CatalogVersions();
+        ReflectionTestUtils.setField(versions, "maxAge", Duration.ofMinutes(10));
+        at(START);
+    }
+
+    @Test
+    void reviewWriteMovesOnlyTheTagsItTouches() {
+        String course = versions.courseTag("CS101");
+        String otherCourse = versions.courseTag("CS102");
+        String professor = versions.professorTag(7L);
+        String catalog = versions.catalogTag();
+
+        versions.onReviewChanged(new ReviewChangedEvent(null, review("CS101", 1L, 7L)));
+
+        assertThat(versions.courseTag("CS101")).isNotEqualTo(course);
+        assertThat(versions.professorTag(7L)).isNotEqualTo(professor);
+        assertThat(versions.catalogTag()).isNotEqualTo(catalog);
+        assertThat(versions.courseTag("CS102")).isEqualTo(otherCourse);
+    }
+
+    @Test
+    void rebuildMovesEveryTag() {
+        String course = versions.courseTag("CS101");
+
+        versions.onCatalogRebuilt(new CatalogRebuiltEvent("import"));
+
+        assertThat(versions.courseTag("CS101")).isNotEqualTo(course);
+    }
+
+    // Writes through other nodes never reach these counters, the time bucket bounds how long a tag can match
+    @Test
+    void tagsExpireAfterMaxAgeWithoutLocalWrites() {
+        String course = versions.courseTag("CS101");
+
+        at(START.plus(Duration.ofMinutes(9)));
+        assertThat(versions.courseTag("CS101")).isEqualTo(course);
+
+        at(START.plus(Duration.ofMinutes(10)));
+        assertThat(versions.courseTag("CS101")).isNotEqualTo(course);
+    }
+
+    @Test
+    void reviewListTagsDifferPerViewer() {
+        assertThat(versions.courseReviewsTag(1L, "a@ada.edu.az"))
+                .isNotEqualTo(versions.courseReviewsTag(1L, "b@ada.edu.az"))
+                .isNotEqualTo(versions.courseReviewsTag(1L, null));
+    }
+
+    private void at(Instant instant) {
+        ReflectionTestUtils.setField(versions, "clock", Clock.fixed(instant, ZoneOffset.UTC));
+    }
+
+    private static ReviewSnapshot review(String courseCode, Long courseId, Long professorId) {
+        ReviewSnapshot snapshot = new ReviewSnapshot();
+        snapshot.setCourseId(courseId);
+        snapshot.setCourseCode(courseCode);
+        snapshot.setCourseSchool("SITE");
+        snapshot.setProfessorId(professorId);
+        snapshot.setProfessorName("Jane Doe");
+        snapshot.setProfessorSchool("SITE");
+        return snapshot;
+    }
+}
@@ -0,0 +1,51 @@
+package com.ada.ratemycourse.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GuardedCaffeineCacheTests {
+
+    private final GuardedCaffeineCache cache =
+            new GuardedCaffeineCache(new CaffeineCache("courses", Caffeine.newBuilder().build()));
+
+    @Test
+    void readThroughPutIsStored() {
+        assertThat(cache.get("CS101")).isNull();
+        cache.put("CS101", "loaded");
+
+        assertThat(cache.get("CS101").get()).isEqualTo("loaded");
+    }
+
+    // A load that missed before a write committed finishes after the after-commit evict
+    @Test
+    void putAfterAnOverlappingEvictIsDropped() {
+        assertThat(cache.get("CS101")).isNull();
+        cache.evictIfPresent("CS101");
+        cache.put("CS101", "stale");
+
+        assertThat(cache.get("CS101")).isNull();
+        cache.put("CS101", "fresh");
+        assertThat(cache.get("CS101").get()).isEqualTo("fresh");
+    }
+
+    @Test
+    void putAfterAnOverlappingClearIsDropped() {
+        assertThat(cache.get("CS101")).isNull();
+        cache.invalidate();
+        cache.put("CS101", "stale");
+
+        assertThat(cache.get("CS101")).isNull();
+    }
+
+    // @CachePut writes without a lookup first
+    @Test
+    void putWithoutAPriorMissIsStored() {
+        cache.evict("CS101");
+        cache.put("CS101", "written");
+
+        assertThat(cache.get("CS101").get()).isEqualTo("written");
+    }
+}
@@ -0,0 +1,93 @@
+package com.ada.ratemycourse.controller;
+
+import com.ada.ratemycourse.model.Course;
+import com.ada.ratemycourse.model.Professor;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Every body is large enough to be gzipped
+@SpringBootTest(properties = "ratemycourse.json-cache.gzip-min-bytes=0")
+@Transactional
+class ConditionalResponsesTests {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+        Professor professor = new Professor();
+        professor.setName("Etag Doe");
+        professor.setSchool("SITE");
+        professor.setDepartment("Computer Science");
+        entityManager.persist(professor);
+
+        Course course = new Course();
+        course.setCode("ETAG101");
+        course.setTitle("Conditional Requests");
+        course.setSchool("SITE");
+        course.setDepartment("Computer Science");
+        course.setProfessor(professor);
+        entityManager.persist(course);
+        entityManager.flush();
+    }
+
+    @Test
+    void cachedJsonAnswersConditionalRequestsPerContentCoding() throws Exception {
+        MockHttpServletResponse identity = fetch(null, null);
+        assertThat(identity.getStatus()).isEqualTo(200);
+        assertThat(identity.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        String etag = identity.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+        assertThat(identity.getContentAsString()).contains("\"code\":\"ETAG101\"");
+
+        assertThat(fetch(null, etag).getStatus()).isEqualTo(304);
+
+        MockHttpServletResponse gzip = fetch("gzip, deflate", null);
+        assertThat(gzip.getStatus()).isEqualTo(200);
+        assertThat(gzip.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        String gzipETag = gzip.getHeader(HttpHeaders.ETAG);
+        assertThat(gzipETag).isNotEqualTo(etag);
+        assertThat(gunzip(gzip.getContentAsByteArray())).isEqualTo(identity.getContentAsString());
+
+        assertThat(fetch("gzip", gzipETag).getStatus()).isEqualTo(304);
+        // The other coding's tag is still recognised
+        assertThat(fetch("gzip", etag).getStatus()).isEqualTo(304);
+    }
+
+    private MockHttpServletResponse fetch(String acceptEncoding, String ifNoneMatch) throws Exception {
+        var request = get("/api/courses/ETAG101");
+        if (acceptEncoding != null) request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        if (ifNoneMatch != null) request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
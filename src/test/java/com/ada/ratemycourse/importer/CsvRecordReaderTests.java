@@ -0,0 +1,80 @@
+package com.ada.ratemycourse.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvRecordReaderTests {
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndLineBreaks() throws IOException {
+        CsvRecordReader reader = reader("name,department\r\n" +
+                "\"Roe, John\",\"Math \"\"Applied\"\"\"\r\n" +
+                "\"Line\nBreak\",\"\"\n");
+
+        Map<String, String> first = reader.next();
+        assertThat(first).containsEntry("name", "Roe, John").containsEntry("department", "Math \"Applied\"");
+        assertThat(reader.line()).isEqualTo(2);
+
+        Map<String, String> second = reader.next();
+        assertThat(second.get("name")).isEqualTo("Line\nBreak");
+        // An empty quoted field is absent like an empty unquoted one
+        assertThat(second.get("department")).isNull();
+        assertThat(reader.line()).isEqualTo(3);
+
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void lineNumbersCountBreaksInsideQuotesAndSkippedBlankLines() throws IOException {
+        CsvRecordReader reader = reader("code,title\n\"A\",\"two\nlines\"\n\nB,plain\n");
+
+        reader.next();
+        assertThat(reader.line()).isEqualTo(2);
+        assertThat(reader.next()).containsEntry("code", "B").containsEntry("title", "plain");
+        assertThat(reader.line()).isEqualTo(5);
+    }
+
+    @Test
+    void headerIsCaseInsensitiveAndDropsTheByteOrderMark() throws IOException {
+        CsvRecordReader reader = reader("\uFEFFName , SCHOOL\nJane,SITE");
+
+        assertThat(reader.next()).containsEntry("name", "Jane").containsEntry("school", "SITE");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void missingTrailingColumnsAreAbsent() throws IOException {
+        CsvRecordReader reader = reader("name,school,department\nJane,SITE\n");
+
+        Map<String, String> record = reader.next();
+        assertThat(record).containsEntry("school", "SITE").doesNotContainKey("department");
+    }
+
+    @Test
+    void unterminatedQuoteIsRejected() throws IOException {
+        CsvRecordReader reader = reader("name,school\nJane,SITE\n\"Roe, John,SITE\nDoe,SITE\n");
+
+        assertThat(reader.next()).containsEntry("name", "Jane");
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unterminated quoted field");
+        assertThat(reader.line()).isEqualTo(3);
+    }
+
+    @Test
+    void emptyInputIsRejected() {
+        assertThatThrownBy(() -> reader(""))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("CSV input is empty");
+    }
+
+    private static CsvRecordReader reader(String text) throws IOException {
+        return new CsvRecordReader(new StringReader(text));
+    }
+}
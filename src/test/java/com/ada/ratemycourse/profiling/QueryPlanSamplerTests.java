@@ -0,0 +1,29 @@
+package com.ada.ratemycourse.profiling;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class QueryPlanSamplerTests {
+
+    @Autowired
+    private QueryPlanSampler queryPlanSampler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // The embedded server is PostgreSQL 14, so this goes through the prepared statement fallback
+    @Test
+    void parameterizedStatementIsExplainedBeforePostgres16() {
+        assertThat(jdbcTemplate.queryForObject("SHOW server_version_num", Integer.class)).isLessThan(160000);
+
+        String plan = queryPlanSampler.explain("SELECT r.id FROM reviews r WHERE r.course_id = ? AND r.rating > ?");
+
+        assertThat(plan).contains("reviews").doesNotContain("no plan");
+        assertThat(jdbcTemplate.queryForObject("SHOW plan_cache_mode", String.class)).isEqualTo("auto");
+    }
+}
@@ -0,0 +1,153 @@
+package com.ada.ratemycourse.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the migrations on a real embedded PostgreSQL, seeds a catalog of realistic proportions and checks
+// that the repository query shapes use the intended indexes once the planner has statistics.
+class QueryPlanTests {
+
+    private static EmbeddedPostgres postgres;
+    private static SingleConnectionDataSource dataSource;
+    private static JdbcTemplate jdbc;
+
+    @BeforeAll
+    static void migrate() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.start();
+        Flyway.configure().dataSource(postgres.getPostgresDatabase()).load().migrate();
+
+        dataSource = new SingleConnectionDataSource(postgres.getPostgresDatabase().getConnection(), true);
+        jdbc = new JdbcTemplate(dataSource);
+        // The embedded server commits asynchronously; until the commits are flushed VACUUM cannot mark the
+        // seeded pages all-visible and index-only scans would be costed as if they had to visit the heap
+        jdbc.execute("SET synchronous_commit = on");
+        seed();
+        jdbc.execute("VACUUM ANALYZE");
+    }
+
+    // 5000 professors over 10 schools, 20000 courses, 2000 users and 200000 reviews, one in ten without a course
+    private static void seed() {
+        jdbc.execute("INSERT INTO professors (name, school, department) " +
+                "SELECT 'Professor ' || md5(i::text), 'School ' || (i % 10), 'Department ' || (i % 40) " +
+                "FROM generate_series(1, 5000) i");
+        jdbc.execute("INSERT INTO courses (code, title, school, department, professor_id) " +
+                "SELECT 'C' || i, 'Course ' || md5(i::text), 'School ' || (i % 10), 'Department ' || (i % 40), " +
+                "(i % 5000) + 1 FROM generate_series(1, 20000) i");
+        jdbc.execute("INSERT INTO users (email, password, created_at) " +
+                "SELECT 'student' || i || '@ada.edu.az', 'x', TIMESTAMP '2020-01-01 00:00:00' " +
+                "FROM generate_series(1, 2000) i");
+        jdbc.execute("INSERT INTO reviews (user_id, course_id, professor_id, rating, difficulty, text, " +
+                "semester, year, created_at) " +
+                "SELECT (i % 2000) + 1, CASE WHEN i % 10 = 0 THEN NULL ELSE (i % 20000) + 1 END, " +
+                "CASE WHEN i % 10 = 0 THEN (i % 5000) + 1 END, (i % 5) + 1, " +
+                "(ARRAY['Easy', 'Moderate', 'Hard'])[(i % 3) + 1], 'Review ' || i, 'Fall', 2020 + (i % 5), " +
+                "TIMESTAMP '2020-01-01 00:00:00' + i * INTERVAL '1 minute' " +
+                "FROM generate_series(1, 200000) i");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        dataSource.destroy();
+        postgres.close();
+    }
+
+    @Test
+    void reviewsByCourseUseCoveringIndex() {
+        assertThat(plan("SELECT * FROM reviews r WHERE r.course_id = 1")).contains("idx_reviews_course");
+        assertThat(plan("SELECT AVG(r.rating) FROM reviews r WHERE r.course_id = 1"))
+                .contains("Index Only Scan using idx_reviews_course")
+                .doesNotContain("idx_reviews_professor");
+    }
+
+    @Test
+    void reviewsByProfessorAndUserUseIndexes() {
+        assertThat(plan("SELECT * FROM reviews r WHERE r.professor_id = 1")).contains("idx_reviews_professor");
+        assertThat(plan("SELECT * FROM reviews r WHERE r.user_id = 1")).contains("idx_reviews_user_created");
+    }
+
+    @Test
+    void userReviewPagesSeekOnCompositeIndexWithoutSorting() {
+        String page = plan("SELECT r.id FROM reviews r WHERE r.user_id = 1 " +
+                "AND (r.created_at < TIMESTAMP '2025-01-01 00:00:00' " +
+                "OR (r.created_at = TIMESTAMP '2025-01-01 00:00:00' AND r.id < 100)) " +
+                "ORDER BY r.created_at DESC, r.id DESC LIMIT 20");
+
+        assertThat(page).contains("idx_reviews_user_created").doesNotContain("Sort");
+    }
+
+    @Test
+    void schoolAndNameFiltersUseIndexes() {
+        assertThat(plan("SELECT * FROM courses c WHERE c.school = 'School 1'")).contains("idx_courses_school");
+        assertThat(plan("SELECT * FROM professors p WHERE p.school = 'School 1'")).contains("idx_professors_school");
+        assertThat(plan("SELECT * FROM professors p WHERE p.name = 'Professor ' || md5('7')")).contains("idx_professors_name");
+        assertThat(plan("SELECT * FROM courses c WHERE c.professor_id = 1")).contains("idx_courses_professor");
+    }
+
+    @Test
+    void caseInsensitiveSearchUsesTrigramIndexes() {
+        assertThat(plan("SELECT * FROM courses c WHERE LOWER(c.title) LIKE LOWER('%' || 'abc12' || '%')"))
+                .contains("idx_courses_title_trgm");
+        assertThat(plan("SELECT * FROM courses c WHERE LOWER(c.code) LIKE LOWER('%' || 'c4242' || '%')"))
+                .contains("idx_courses_code_trgm");
+        assertThat(plan("SELECT * FROM professors p WHERE LOWER(p.name) LIKE LOWER('%' || 'abc12' || '%')"))
+                .contains("idx_professors_name_trgm");
+    }
+
+    @Test
+    void professorDetailReadsReviewsThroughIndexes() {
+        String detail = plan(ProfessorRepository.DETAIL_COURSE_ROWS + "WHERE p.id = 1" +
+                ProfessorRepository.DETAIL_COURSE_GROUP_BY +
+                ProfessorRepository.DETAIL_DIRECT_ROWS + "WHERE p.id = 1" +
+                ProfessorRepository.DETAIL_DIRECT_GROUP_BY);
+
+        assertThat(detail).contains("idx_courses_professor", "idx_reviews_course", "idx_reviews_professor");
+    }
+
+    @Test
+    void professorSummaryReadsOnlyItsOwnReviews() {
+        String summary = plan(ProfessorRepository.SUMMARY_SELECT + "WHERE p.id = 1" +
+                ProfessorRepository.SUMMARY_ORDER_BY);
+
+        assertThat(summary).contains("idx_courses_professor", "idx_reviews_course", "idx_reviews_professor")
+                .doesNotContain("Seq Scan on reviews");
+    }
+
+    // School snapshot loads and the per-write refresh of one professor in a snapshot
+    @Test
+    void schoolSnapshotLoadsReadOnlyThatSchoolsReviews() {
+        String school = explainAnalyze(ProfessorRepository.SUMMARY_SELECT + "WHERE p.school = 'School 1'" +
+                ProfessorRepository.SUMMARY_ORDER_BY);
+
+        assertThat(school).doesNotContain("Seq Scan on reviews")
+                .containsPattern("->  Aggregate .*\\(actual rows=1 loops=500\\)");
+    }
+
+    @Test
+    void professorSummaryPageAggregatesOnlyThePage() {
+        String page = explainAnalyze(ProfessorRepository.SUMMARY_SELECT +
+                ProfessorRepository.SUMMARY_PAGE_AFTER.replace(":after", "100").replace(":limit", "20") +
+                ProfessorRepository.SUMMARY_ORDER_BY);
+
+        assertThat(page).contains("Index Only Scan using professors_pkey").doesNotContain("Seq Scan on reviews");
+        // The lateral aggregate runs once per professor on the page, not for every professor after the cursor
+        assertThat(page).containsPattern("->  Aggregate .*\\(actual rows=1 loops=20\\)").doesNotContain("loops=4900");
+    }
+
+    private String plan(String sql) {
+        return String.join("\n", jdbc.queryForList("EXPLAIN " + sql, String.class));
+    }
+
+    private String explainAnalyze(String sql) {
+        return String.join("\n", jdbc.queryForList("EXPLAIN (ANALYZE, TIMING OFF) " + sql, String.class));
+    }
+}
@@ -0,0 +1,96 @@
+package com.ada.ratemycourse.search;
+
+import com.ada.ratemycourse.model.Professor;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not transactional: the index is only updated once a write commits
+@SpringBootTest
+class CatalogSearchIndexTests {
+
+    @Autowired
+    private CatalogSearchIndex searchIndex;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void onlyCommittedWritesReachTheIndex() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        tx.executeWithoutResult(status -> {
+            entityManager.persist(professor("Qwxz Rolledback"));
+            entityManager.flush();
+            status.setRollbackOnly();
+        });
+        assertThat(searchIndex.searchProfessors("qwxz")).isEmpty();
+
+        Professor committed = tx.execute(status -> {
+            Professor professor = professor("Qwxz Committed");
+            entityManager.persist(professor);
+            return professor;
+        });
+        try {
+            assertThat(searchIndex.searchProfessors("qwxz")).containsExactly(committed.getId());
+
+            tx.executeWithoutResult(status -> {
+                entityManager.find(Professor.class, committed.getId()).setName("Jklm Renamed");
+                entityManager.flush();
+                status.setRollbackOnly();
+            });
+            assertThat(searchIndex.searchProfessors("qwxz")).containsExactly(committed.getId());
+            assertThat(searchIndex.searchProfessors("jklm")).isEmpty();
+        } finally {
+            tx.executeWithoutResult(status ->
+                    entityManager.remove(entityManager.find(Professor.class, committed.getId())));
+        }
+        assertThat(searchIndex.searchProfessors("qwxz")).isEmpty();
+    }
+
+    @Test
+    void coursesFollowTheirProfessorThroughRenamesAndMoves() {
+        CatalogSearchIndex index = new CatalogSearchIndex();
+        ReflectionTestUtils.setField(index, "maxResults", 10);
+        index.indexProfessor(1L, "Jane Doe");
+        index.indexProfessor(2L, "John Roe");
+        index.indexCourse(10L, "CS101", "Intro to Programming", 1L, "Jane Doe");
+        index.indexCourse(11L, "CS102", "Data Structures", 1L, "Jane Doe");
+
+        assertThat(index.searchCourses("jane")).containsExactly(10L, 11L);
+        assertThat(index.searchProfessors("doe")).containsExactly(1L);
+
+        index.indexProfessor(1L, "Jane Smith");
+        assertThat(index.searchCourses("smith")).containsExactly(10L, 11L);
+        assertThat(index.searchCourses("doe")).isEmpty();
+
+        // Moving a course away means renames of its old professor no longer touch it
+        index.indexCourse(11L, "CS102", "Data Structures", 2L, "John Roe");
+        index.indexProfessor(1L, "Jane Black");
+        assertThat(index.searchCourses("black")).containsExactly(10L);
+        assertThat(index.searchCourses("roe")).containsExactly(11L);
+
+        index.removeCourse(10L);
+        assertThat(index.searchCourses("black")).isEmpty();
+        index.removeProfessor(2L);
+        assertThat(index.searchProfessors("roe")).isEmpty();
+        assertThat(index.searchCourses("cs")).containsExactly(11L);
+    }
+
+    private static Professor professor(String name) {
+        Professor professor = new Professor();
+        professor.setName(name);
+        professor.setSchool("SITE");
+        professor.setDepartment("Computer Science");
+        return professor;
+    }
+}
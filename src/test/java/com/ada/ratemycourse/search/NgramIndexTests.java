@@ -0,0 +1,123 @@
+package com.ada.ratemycourse.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NgramIndexTests {
+
+    private final NgramIndex index = new NgramIndex(3, 1);
+
+    @Test
+    void findsDocumentsBySubstringOfAnyField() {
+        index.put(1, "CS101", "Intro to Programming");
+        index.put(2, "MATH201", "Linear Algebra");
+
+        assertThat(index.search("gramm", 10)).containsExactly(1L);
+        assertThat(index.search("  LINEAR   algebra ", 10)).containsExactly(2L);
+        assertThat(index.search("xyz", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void ranksExactAndPrefixMatchesInHeavierFieldsFirst() {
+        index.put(1, "ALG100", "Algorithms");
+        index.put(2, "CS200", "Advanced Algorithms");
+        index.put(3, "ALGORITHMS", "Seminar");
+
+        // Whole first field, then prefix of the first field, then matches in the second field
+        assertThat(index.search("algorithms", 10)).containsExactly(3L, 1L, 2L);
+        assertThat(index.search("algorithms", 2)).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void updateReplacesTheOldText() {
+        index.put(1, "CS101", "Intro to Programming");
+        index.put(1, "CS101", "Data Structures");
+
+        assertThat(index.search("programming", 10)).isEmpty();
+        assertThat(index.search("structures", 10)).containsExactly(1L);
+        assertThat(index.get(1)).containsExactly("cs101", "data structures");
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removedDocumentsAreNotFound() {
+        index.put(1, "CS101", "Intro to Programming");
+        index.put(2, "CS102", "Programming Languages");
+
+        index.remove(1);
+        index.remove(42);
+
+        assertThat(index.search("programming", 10)).containsExactly(2L);
+        assertThat(index.get(1)).isNull();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    // Shorter than a trigram, answered by scanning the stored fields
+    @Test
+    void queriesUnderThreeCharactersScanTheDocuments() {
+        index.put(1, "CS101", "Intro");
+        index.put(2, "EC101", "Economics");
+        index.put(3, "MATH201", "Calculus");
+
+        assertThat(index.search("cs", 10)).containsExactly(1L, 2L);
+        assertThat(index.search("m", 10)).containsExactly(3L, 2L);
+        assertThat(index.search("", 10)).hasSize(3);
+    }
+
+    @Test
+    void clearDropsEverything() {
+        index.put(1, "CS101", "Intro");
+        index.clear();
+
+        assertThat(index.search("cs1", 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    // Searches run under the read lock while writers replace and remove documents
+    @Test
+    void concurrentWritesAndSearchesStayConsistent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int writer = 0; writer < 4; writer++) {
+                int offset = writer * 1000;
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        index.put(offset + i, "CS" + (offset + i), "Course title " + i);
+                        if (i % 2 == 1) index.remove(offset + i);
+                    }
+                }));
+            }
+            for (int reader = 0; reader < 4; reader++) {
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        for (long id : index.search("course", 50)) {
+                            // Odd ids may be removed between the search and the lookup
+                            String[] fields = index.get(id);
+                            if (id % 2 == 0 || fields != null) {
+                                assertThat(fields).isNotNull().contains("cs" + id);
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(index.size()).isEqualTo(2000);
+        assertThat(index.search("course title", 5000)).hasSize(2000);
+        assertThat(index.search("cs1", 5000)).allMatch(id -> id % 2 == 0);
+    }
+}
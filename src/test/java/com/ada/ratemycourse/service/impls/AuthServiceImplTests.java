@@ -0,0 +1,45 @@
+package com.ada.ratemycourse.service.impls;
+
+import com.ada.ratemycourse.dto.LoginRequest;
+import com.ada.ratemycourse.model.User;
+import com.ada.ratemycourse.service.AuthService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class AuthServiceImplTests {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    // The configured cost is 10, a hash made with cost 4 is upgraded by a successful login
+    @Test
+    void loginRehashesPasswordsStoredWithAnotherCost() {
+        User user = new User();
+        user.setEmail("rehash@ada.edu.az");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("secret"));
+        entityManager.persist(user);
+        entityManager.flush();
+
+        LoginRequest request = new LoginRequest();
+        request.setEmail("rehash@ada.edu.az");
+        request.setPassword("secret");
+        authService.login(request);
+        entityManager.flush();
+        entityManager.clear();
+
+        String stored = entityManager.find(User.class, user.getId()).getPassword();
+        assertThat(stored).startsWith("$2a$10$");
+        assertThat(new BCryptPasswordEncoder().matches("secret", stored)).isTrue();
+    }
+}
@@ -0,0 +1,120 @@
+package com.ada.ratemycourse.service.impls;
+
+import com.ada.ratemycourse.dto.ImportResult;
+import com.ada.ratemycourse.importer.ImportFormat;
+import com.ada.ratemycourse.importer.RecordReader;
+import com.ada.ratemycourse.model.CourseStats;
+import com.ada.ratemycourse.service.CatalogImportService;
+import com.ada.ratemycourse.service.CourseStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class CatalogImportServiceImplTests {
+
+    private static final int REVIEW_COUNT = 2500;
+
+    @Autowired
+    private CatalogImportService catalogImportService;
+
+    @Autowired
+    private CourseStatsService courseStatsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void importsCatalogAndRebuildsAggregates() throws IOException {
+        ImportResult professors = importText(CatalogImportService.PROFESSORS, ImportFormat.CSV,
+                "name,school,department\n" +
+                "Jane Doe,SITE,Computer Science\n" +
+                "\"Roe, John\",SITE,\"Math \"\"Applied\"\"\"\n" +
+                "Jane Doe,SITE,Computer Science\n");
+        assertThat(professors.getImported()).isEqualTo(2);
+        assertThat(professors.getErrors()).containsExactly("line 4: Professor already exists: Jane Doe");
+
+        ImportResult courses = importText(CatalogImportService.COURSES, ImportFormat.CSV,
+                "code,title,school,department,professor\n" +
+                "CS101,Intro to Programming,SITE,Computer Science,Jane Doe\n" +
+                "MATH201,Linear Algebra,SITE,Mathematics,\"Roe, John\"\n" +
+                "CS999,Unknown,SITE,Computer Science,Nobody\n");
+        assertThat(courses.getImported()).isEqualTo(2);
+        assertThat(courses.getSkipped()).isEqualTo(1);
+
+        StringBuilder reviews = new StringBuilder();
+        for (int i = 0; i < REVIEW_COUNT; i++) {
+            reviews.append("{\"email\":\"student").append(i % 50).append("@ada.edu.az\",")
+                    .append("\"course\":\"CS101\",\"rating\":4,\"difficulty\":\"Easy\",")
+                    .append("\"text\":\"Review ").append(i).append("\",\"semester\":\"Fall\",\"year\":2022}\n");
+        }
+        reviews.append("{\"email\":\"x@ada.edu.az\",\"course\":\"CS101\",\"rating\":9,\"difficulty\":\"Easy\",\"text\":\"x\"}\n");
+        reviews.append("not json\n");
+
+        ImportResult imported = importText(CatalogImportService.REVIEWS, ImportFormat.NDJSON, reviews.toString());
+
+        assertThat(imported.getImported()).isEqualTo(REVIEW_COUNT);
+        assertThat(imported.getSkipped()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class)).isEqualTo(50);
+
+        Long courseId = jdbcTemplate.queryForObject("SELECT id FROM courses WHERE code = 'CS101'", Long.class);
+        CourseStats stats = courseStatsService.getStats(courseId);
+        assertThat(stats.getReviewCount()).isEqualTo(REVIEW_COUNT);
+        assertThat(stats.getAverageRating()).isEqualTo(4.0);
+    }
+
+    // Not transactional: each batch has to commit or roll back on its own
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void rolledBackBatchLeavesNoAuthorsBehind() throws IOException {
+        long professorId = jdbcTemplate.queryForObject(
+                "INSERT INTO professors (name, school, department) VALUES ('Rollback Doe', 'SITE', 'CS') RETURNING id",
+                Long.class);
+        try {
+            // Postgres rejects the NUL character, so the batch fails after its author was inserted
+            String failing = "{\"email\":\"first@ada.edu.az\",\"professor\":\"Rollback Doe\",\"rating\":4," +
+                    "\"difficulty\":\"Easy\",\"text\":\"a\\u0000b\"}\n" +
+                    "{\"email\":\"rollback@ada.edu.az\",\"professor\":\"Rollback Doe\",\"rating\":4," +
+                    "\"difficulty\":\"Easy\",\"text\":\"ok\"}\n";
+            assertThatThrownBy(() -> importText(CatalogImportService.REVIEWS, ImportFormat.NDJSON, failing));
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE email IN " +
+                    "('first@ada.edu.az', 'rollback@ada.edu.az')", Long.class)).isZero();
+
+            ImportResult retried = importText(CatalogImportService.REVIEWS, ImportFormat.NDJSON,
+                    failing.substring(failing.indexOf('\n') + 1));
+
+            assertThat(retried.getImported()).isEqualTo(1);
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reviews r JOIN users u ON u.id = r.user_id " +
+                    "WHERE r.professor_id = ? AND u.email = 'rollback@ada.edu.az'", Long.class, professorId))
+                    .isEqualTo(1);
+        } finally {
+            jdbcTemplate.update("DELETE FROM rating_histograms WHERE subject_type = 'professor' AND subject_id = ?",
+                    professorId);
+            jdbcTemplate.update("DELETE FROM reviews WHERE professor_id = ?", professorId);
+            jdbcTemplate.update("DELETE FROM professors WHERE id = ?", professorId);
+            jdbcTemplate.update("DELETE FROM users WHERE email IN ('first@ada.edu.az', 'rollback@ada.edu.az')");
+        }
+    }
+
+    private ImportResult importText(String kind, ImportFormat format, String text) throws IOException {
+        try (RecordReader reader = format.open(
+                new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), objectMapper)) {
+            return catalogImportService.importRecords(kind, reader);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.ada.ratemycourse.service.impls;
+
+import com.ada.ratemycourse.dto.CourseResponse;
+import com.ada.ratemycourse.dto.LeaderboardEntry;
+import com.ada.ratemycourse.event.ReviewChangedEvent;
+import com.ada.ratemycourse.event.ReviewSnapshot;
+import com.ada.ratemycourse.model.Course;
+import com.ada.ratemycourse.model.Difficulty;
+import com.ada.ratemycourse.model.Professor;
+import com.ada.ratemycourse.model.Review;
+import com.ada.ratemycourse.model.User;
+import com.ada.ratemycourse.service.CourseStatsService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class LeaderboardServiceImplTests {
+
+    @Autowired
+    private LeaderboardServiceImpl leaderboardService;
+
+    @Autowired
+    private CourseStatsService courseStatsService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Professor professor;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        professor = new Professor();
+        professor.setName("Jane Doe");
+        professor.setSchool("SITE");
+        professor.setDepartment("Computer Science");
+        entityManager.persist(professor);
+
+        user = new User();
+        user.setEmail("student@ada.edu.az");
+        user.setPassword("x");
+        entityManager.persist(user);
+
+        // A perfect score on few reviews must not beat a slightly lower score on many
+        course("CS101", "SITE", "Computer Science", 40, 4.6, Difficulty.EASY);
+        course("CS102", "SITE", "Computer Science", 3, 5.0, Difficulty.HARD);
+        course("CS103", "SITE", "Computer Science", 30, 2.0, Difficulty.MODERATE);
+        course("MATH101", "SITE", "Mathematics", 20, 4.0, Difficulty.HARD);
+        course("BUS101", "SB", "Business", 50, 4.9, Difficulty.EASY);
+        course("CS199", "SITE", "Computer Science", 2, 5.0, Difficulty.EASY); // below min-reviews
+
+        entityManager.flush();
+        courseStatsService.rebuild();
+        leaderboardService.rebuild();
+    }
+
+    @Test
+    void ranksByBayesianRatingWithinScopeWithoutDatabaseAccess() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<LeaderboardEntry<CourseResponse>> best = leaderboardService.topCourses("SITE", null, "best", 20);
+
+        assertThat(codes(best)).containsExactly("CS101", "CS102", "MATH101", "CS103");
+        assertThat(best.get(0).getRank()).isEqualTo(1);
+        assertThat(best.get(0).getItem().getReviewCount()).isEqualTo(40);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void sortsByEaseAndFiltersByDepartment() {
+        assertThat(codes(leaderboardService.topCourses(null, null, "easiest", 2))).containsExactly("BUS101", "CS101");
+        // Three Hard reviews are pulled toward the mean more than thirty Moderate ones
+        assertThat(codes(leaderboardService.topCourses(null, "Computer Science", "hardest", 1)))
+                .containsExactly("CS103");
+        assertThat(codes(leaderboardService.topCourses("SB", "Computer Science", "best", 20))).isEmpty();
+    }
+
+    @Test
+    void reviewEventsReRankIncrementally() {
+        Course cs103 = entityManager.createQuery("SELECT c FROM Course c WHERE c.code = 'CS103'", Course.class)
+                .getSingleResult();
+        for (int i = 0; i < 200; i++) {
+            Review review = review(cs103, 5.0, Difficulty.EASY);
+            leaderboardService.onReviewChanged(new ReviewChangedEvent(null, ReviewSnapshot.of(review)));
+        }
+
+        assertThat(codes(leaderboardService.topCourses("SITE", null, "best", 1))).containsExactly("CS103");
+        assertThat(leaderboardService.topProfessors(null, null, "best", 1).get(0).getItem().getReviewCount())
+                .isEqualTo(40 + 3 + 30 + 20 + 50 + 2 + 200);
+    }
+
+    private void course(String code, String school, String department, int reviews, double rating,
+                        Difficulty difficulty) {
+        Course course = new Course();
+        course.setCode(code);
+        course.setTitle(code);
+        course.setSchool(school);
+        course.setDepartment(department);
+        course.setProfessor(professor);
+        entityManager.persist(course);
+        for (int i = 0; i < reviews; i++) {
+            entityManager.persist(review(course, rating, difficulty));
+        }
+    }
+
+    private Review review(Course course, double rating, Difficulty difficulty) {
+        Review review = new Review();
+        review.setUser(user);
+        review.setCourse(course);
+        review.setRating(rating);
+        review.setDifficulty(difficulty);
+        review.setText("Review");
+        return review;
+    }
+
+    private static List<String> codes(List<LeaderboardEntry<CourseResponse>> entries) {
+        return entries.stream().map(entry -> entry.getItem().getCode()).toList();
+    }
+}
@@ -0,0 +1,139 @@
+package com.ada.ratemycourse.service.impls;
+
+import com.ada.ratemycourse.exception.PasswordHashingBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherImplTests {
+
+    private PasswordHasherImpl hasher;
+
+    @AfterEach
+    void tearDown() {
+        if (hasher != null) {
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    void encodedPasswordsMatch() {
+        hasher = hasher(new BCryptPasswordEncoder(4), 4, 2, 8, 5000);
+
+        String hash = hasher.encode("secret");
+
+        assertThat(hasher.matches("secret", hash)).isTrue();
+        assertThat(hasher.matches("wrong", hash)).isFalse();
+    }
+
+    @Test
+    void hashesAreRehashedOnlyWhenTheCostChanged() {
+        String cost4 = new BCryptPasswordEncoder(4).encode("secret");
+        String cost5 = new BCryptPasswordEncoder(5).encode("secret");
+
+        hasher = hasher(new BCryptPasswordEncoder(4), 4, 1, 1, 5000);
+        assertThat(hasher.needsRehash(cost4)).isFalse();
+        assertThat(hasher.needsRehash(cost5)).isTrue();
+
+        // Raising the configured cost flags the older hashes, lowering it flags the newer ones
+        ReflectionTestUtils.setField(hasher, "bcryptCost", 5);
+        assertThat(hasher.needsRehash(cost4)).isTrue();
+        assertThat(hasher.needsRehash(cost5)).isFalse();
+
+        assertThat(hasher.needsRehash("$2y$05$" + cost5.substring(7))).isFalse();
+        assertThat(hasher.needsRehash("{noop}secret")).isFalse();
+    }
+
+    // One thread busy and one task queued: the next caller is turned away without waiting
+    @Test
+    void saturatedPoolFailsFastWithBusy() throws Exception {
+        BlockingEncoder encoder = new BlockingEncoder();
+        hasher = hasher(encoder, 4, 1, 1, 5000);
+        try {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("first"));
+            assertThat(encoder.started.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("second"));
+            waitForQueuedTask();
+
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> hasher.encode("third")).isInstanceOf(PasswordHashingBusyException.class);
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000);
+
+            encoder.release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:first");
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:second");
+        } finally {
+            encoder.release.countDown();
+        }
+    }
+
+    @Test
+    void hashingThatOutlivesTheTimeoutFailsWithBusy() {
+        BlockingEncoder encoder = new BlockingEncoder();
+        hasher = hasher(encoder, 4, 1, 1, 50);
+        try {
+            assertThatThrownBy(() -> hasher.matches("secret", "hash"))
+                    .isInstanceOf(PasswordHashingBusyException.class);
+        } finally {
+            encoder.release.countDown();
+        }
+    }
+
+    private void waitForQueuedTask() throws InterruptedException {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(hasher, "executor");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getQueue().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(executor.getQueue()).hasSize(1);
+    }
+
+    private static PasswordHasherImpl hasher(PasswordEncoder encoder, int cost, int threads, int queueCapacity,
+                                             long timeoutMs) {
+        PasswordHasherImpl hasher = new PasswordHasherImpl();
+        ReflectionTestUtils.setField(hasher, "passwordEncoder", encoder);
+        ReflectionTestUtils.setField(hasher, "bcryptCost", cost);
+        ReflectionTestUtils.setField(hasher, "hashThreads", threads);
+        ReflectionTestUtils.setField(hasher, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(hasher, "timeoutMs", timeoutMs);
+        hasher.init();
+        return hasher;
+    }
+
+    // Holds every hash until released, standing in for slow BCrypt work
+    private static final class BlockingEncoder implements PasswordEncoder {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return encodedPassword.equals("hashed:" + rawPassword);
+        }
+
+        private void await() {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.ada.ratemycourse.service.impls;
+
+import com.ada.ratemycourse.cache.SchoolSnapshots;
+import com.ada.ratemycourse.dto.CourseResponse;
+import com.ada.ratemycourse.dto.ProfessorResponse;
+import com.ada.ratemycourse.model.Course;
+import com.ada.ratemycourse.model.Difficulty;
+import com.ada.ratemycourse.model.Professor;
+import com.ada.ratemycourse.model.Review;
+import com.ada.ratemycourse.model.User;
+import com.ada.ratemycourse.service.ProfessorService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+@Transactional
+class ProfessorServiceImplTests {
+
+    private static final int COURSE_COUNT = 5;
+    private static final int REVIEWS_PER_COURSE = 40;
+
+    @Autowired
+    private ProfessorService professorService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private SchoolSnapshots schoolSnapshots;
+
+    private Professor professor;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        professor = professor("Jane Doe");
+        Professor other = professor("John Roe");
+
+        User user = new User();
+        user.setEmail("student@ada.edu.az");
+        user.setPassword("x");
+        entityManager.persist(user);
+
+        for (int c = 0; c < COURSE_COUNT; c++) {
+            Course course = new Course();
+            course.setCode("CS10" + c);
+            course.setTitle("Course " + c);
+            course.setSchool("SITE");
+            course.setDepartment("Computer Science");
+            course.setProfessor(professor);
+            entityManager.persist(course);
+
+            for (int i = 0; i < REVIEWS_PER_COURSE; i++) {
+                // Course c gets ratings c+1 and difficulty by course, so per-course numbers differ
+                review(user, course, null, c % 5 + 1.0, Difficulty.values()[c % 3]);
+            }
+        }
+
+        // Counts for Jane: named directly and no course
+        review(user, null, professor, 1.0, Difficulty.HARD);
+
+        // Counts for John, the professor of the course, even though it names Jane
+        Course otherCourse = new Course();
+        otherCourse.setCode("MATH101");
+        otherCourse.setTitle("Calculus");
+        otherCourse.setSchool("SITE");
+        otherCourse.setDepartment("Mathematics");
+        otherCourse.setProfessor(other);
+        entityManager.persist(otherCourse);
+        review(user, otherCourse, professor, 5.0, Difficulty.EASY);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void professorDetailIsOneQuery() {
+        ProfessorResponse response = professorService.getProfessorById(professor.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+
+        assertThat(response.getName()).isEqualTo("Jane Doe");
+        assertThat(response.getCourses()).hasSize(COURSE_COUNT);
+        assertThat(response.getCoursesCount()).isEqualTo(COURSE_COUNT);
+        assertThat(response.getCourses()).allSatisfy(course -> {
+            assertThat(course.getReviewCount()).isEqualTo(REVIEWS_PER_COURSE);
+            assertThat(course.getProfessorName()).isEqualTo("Jane Doe");
+        });
+        CourseResponse first = response.getCourses().get(0);
+        assertThat(first.getCode()).isEqualTo("CS100");
+        assertThat(first.getAverageRating()).isEqualTo(1.0);
+        assertThat(first.getDifficulty()).isEqualTo("Easy");
+    }
+
+    @Test
+    void professorDetailTotalsMatchTheListing() {
+        ProfessorResponse detail = professorService.getProfessorById(professor.getId());
+        ProfessorResponse listed = professorService.getAllProfessors().stream()
+                .filter(p -> p.getId().equals(professor.getId()))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(detail.getReviewCount()).isEqualTo(COURSE_COUNT * REVIEWS_PER_COURSE + 1);
+        assertThat(detail.getReviewCount()).isEqualTo(listed.getReviewCount());
+        assertThat(detail.getAverageRating()).isCloseTo(listed.getAverageRating(), within(1e-9));
+        assertThat(detail.getDifficulty()).isEqualTo(listed.getDifficulty());
+        assertThat(detail.getCoursesCount()).isEqualTo(listed.getCoursesCount());
+    }
+
+    @Test
+    void onlySchoolsWithProfessorsAreSnapshotted() {
+        try {
+            assertThat(professorService.getProfessorsBySchool("No Such School")).isEmpty();
+            assertThat(professorService.getProfessorsBySchool("SITE")).hasSize(2);
+
+            assertThat(schoolSnapshots.hasProfessors("No Such School")).isFalse();
+            assertThat(schoolSnapshots.hasProfessors("SITE")).isTrue();
+        } finally {
+            // Snapshots outlive the rolled back test data
+            schoolSnapshots.clear();
+        }
+    }
+
+    private Professor professor(String name) {
+        Professor professor = new Professor();
+        professor.setName(name);
+        professor.setSchool("SITE");
+        professor.setDepartment("Computer Science");
+        entityManager.persist(professor);
+        return professor;
+    }
+
+    private void review(User user, Course course, Professor professor, double rating, Difficulty difficulty) {
+        Review review = new Review();
+        review.setUser(user);
+        review.setCourse(course);
+        review.setProfessor(professor);
+        review.setRating(rating);
+        review.setDifficulty(difficulty);
+        review.setText("Review");
+        review.setSemester("Fall");
+        review.setYear(2024);
+        entityManager.persist(review);
+    }
+}
@@ -0,0 +1,194 @@
+package com.ada.ratemycourse.service.impls;
+
+import com.ada.ratemycourse.dto.RatingHistogramResponse;
+import com.ada.ratemycourse.dto.ReviewRequest;
+import com.ada.ratemycourse.dto.ReviewResponse;
+import com.ada.ratemycourse.dto.SessionUser;
+import com.ada.ratemycourse.event.ReviewSnapshot;
+import com.ada.ratemycourse.model.Course;
+import com.ada.ratemycourse.model.Difficulty;
+import com.ada.ratemycourse.model.Professor;
+import com.ada.ratemycourse.model.Review;
+import com.ada.ratemycourse.model.User;
+import com.ada.ratemycourse.service.RatingHistogramService;
+import com.ada.ratemycourse.service.ReviewService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+@SpringBootTest
+@Transactional
+class RatingHistogramServiceImplTests {
+
+    private static final int REVIEW_COUNT = 300;
+
+    @Autowired
+    private RatingHistogramService ratingHistogramService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Professor professor;
+    private Course course;
+    private SessionUser author;
+
+    @BeforeEach
+    void setUp() {
+        professor = new Professor();
+        professor.setName("Jane Doe");
+        professor.setSchool("SITE");
+        professor.setDepartment("Computer Science");
+        entityManager.persist(professor);
+
+        course = new Course();
+        course.setCode("CS101");
+        course.setTitle("Intro to Programming");
+        course.setSchool("SITE");
+        course.setDepartment("Computer Science");
+        course.setProfessor(professor);
+        entityManager.persist(course);
+
+        User user = new User();
+        user.setEmail("student@ada.edu.az");
+        user.setPassword("x");
+        entityManager.persist(user);
+        author = new SessionUser(user.getId(), user.getEmail());
+
+        for (int i = 0; i < REVIEW_COUNT; i++) {
+            Review review = new Review();
+            review.setUser(user);
+            // Every tenth review names the professor without a course
+            if (i % 10 == 0) {
+                review.setProfessor(professor);
+            } else {
+                review.setCourse(course);
+            }
+            review.setRating(i % 5 + 1.5); // half stars round down into 1..5
+            review.setDifficulty(Difficulty.values()[i % 3]);
+            review.setText("Review " + i);
+            review.setSemester(i % 2 == 0 ? "Fall" : "Spring");
+            review.setYear(2023 + i % 2);
+            entityManager.persist(review);
+        }
+
+        entityManager.flush();
+        ratingHistogramService.rebuild();
+        entityManager.clear();
+    }
+
+    @Test
+    void rebuildCountsEveryReviewOncePerSubject() {
+        RatingHistogramResponse courseHistogram = ratingHistogramService.getCourseHistogram("CS101");
+        RatingHistogramResponse professorHistogram = ratingHistogramService.getProfessorHistogram(professor.getId());
+
+        assertThat(courseHistogram.getReviewCount()).isEqualTo(REVIEW_COUNT - REVIEW_COUNT / 10);
+        assertThat(professorHistogram.getReviewCount()).isEqualTo(REVIEW_COUNT);
+        assertThat(professorHistogram.getRatings()).containsOnlyKeys("1", "2", "3", "4", "5")
+                .allSatisfy((stars, count) -> assertThat(count).isEqualTo(REVIEW_COUNT / 5));
+        assertThat(professorHistogram.getDifficulties())
+                .allSatisfy((label, count) -> assertThat(count).isEqualTo(REVIEW_COUNT / 3));
+        assertThat(professorHistogram.getTerms()).containsExactly(
+                entry("2023-Fall", (long) REVIEW_COUNT / 2), entry("2024-Spring", (long) REVIEW_COUNT / 2));
+    }
+
+    @Test
+    void writesKeepCountersInStepWithRebuild() {
+        ReviewResponse created = reviewService.createReview(request(5.0, "Hard", "Summer", 2025), author);
+        ReviewResponse updated = reviewService.createReview(request(2.0, "Easy", "Fall", 2023), author);
+        reviewService.updateReview(updated.getId(), request(3.0, "Moderate", "Spring", 2024), author);
+        reviewService.deleteReview(created.getId(), author);
+        entityManager.flush();
+
+        RatingHistogramResponse incremental = ratingHistogramService.getCourseHistogram("CS101");
+        RatingHistogramResponse incrementalProfessor = ratingHistogramService.getProfessorHistogram(professor.getId());
+
+        ratingHistogramService.rebuild();
+        entityManager.clear();
+
+        assertThat(incremental).isEqualTo(ratingHistogramService.getCourseHistogram("CS101"));
+        assertThat(incrementalProfessor).isEqualTo(ratingHistogramService.getProfessorHistogram(professor.getId()));
+        assertThat(incremental.getReviewCount()).isEqualTo(REVIEW_COUNT - REVIEW_COUNT / 10 + 1);
+    }
+
+    @Test
+    void concurrentFirstReviewsOfABucketAllCount() throws Exception {
+        // Committed by the worker threads, outside this test's transaction; no foreign key on the subject
+        long subjectId = -1L;
+        ReviewSnapshot review = new ReviewSnapshot();
+        review.setCourseId(subjectId);
+        review.setRating(4.0);
+        review.setDifficulty(Difficulty.EASY);
+        review.setSemester("Fall");
+        review.setYear(2026);
+
+        int writers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    ratingHistogramService.recordReviewAdded(review);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+
+            assertThat(jdbcTemplate.queryForList("SELECT review_count FROM rating_histograms " +
+                    "WHERE subject_type = 'course' AND subject_id = ?", Long.class, subjectId))
+                    .hasSize(3).containsOnly((long) writers);
+        } finally {
+            executor.submit(() -> jdbcTemplate.update("DELETE FROM rating_histograms WHERE subject_id = ?", subjectId))
+                    .get();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void readingHistogramDoesNotTouchReviews() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ratingHistogramService.getProfessorHistogram(professor.getId());
+
+        // Existence check plus one primary key range read, however many reviews there are
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    private ReviewRequest request(double rating, String difficulty, String semester, int year) {
+        ReviewRequest request = new ReviewRequest();
+        request.setRating(rating);
+        request.setDifficulty(difficulty);
+        request.setText("New review");
+        request.setSemester(semester);
+        request.setYear(year);
+        request.setCourseId(course.getId());
+        return request;
+    }
+}
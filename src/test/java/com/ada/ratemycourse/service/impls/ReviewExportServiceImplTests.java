@@ -0,0 +1,135 @@
+package com.ada.ratemycourse.service.impls;
+
+import com.ada.ratemycourse.importer.ImportFormat;
+import com.ada.ratemycourse.model.Course;
+import com.ada.ratemycourse.model.Difficulty;
+import com.ada.ratemycourse.model.Professor;
+import com.ada.ratemycourse.model.Review;
+import com.ada.ratemycourse.model.User;
+import com.ada.ratemycourse.service.ReviewExportService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class ReviewExportServiceImplTests {
+
+    @Autowired
+    private ReviewExportService reviewExportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Course course;
+    private Professor otherProfessor;
+
+    @BeforeEach
+    void setUp() {
+        Professor professor = professor("Jane Doe", "SITE");
+        otherProfessor = professor("John Roe", "SB");
+
+        course = new Course();
+        course.setCode("CS101");
+        course.setTitle("Intro to Programming");
+        course.setSchool("SITE");
+        course.setDepartment("Computer Science");
+        course.setProfessor(professor);
+        entityManager.persist(course);
+
+        User user = new User();
+        user.setEmail("student@ada.edu.az");
+        user.setPassword("x");
+        entityManager.persist(user);
+
+        entityManager.persist(review(user, course, null, "Great, \"really\" great", 2022));
+        entityManager.persist(review(user, course, null, "Fine", 2021));
+        entityManager.persist(review(user, null, otherProfessor, "Line one\nline two", 2022));
+        entityManager.flush();
+    }
+
+    @Test
+    void writesQuotedCsvWithAttributedProfessor() throws IOException {
+        String[] lines = export(ImportFormat.CSV, null, null).split("\n", -1);
+
+        assertThat(lines[0]).isEqualTo("review_id,created_at,rating,difficulty,semester,year,course_code," +
+                "course_title,school,department,professor_id,professor_name,text");
+        assertThat(lines[1]).endsWith(",4.0,Easy,Fall,2022,CS101,Intro to Programming,SITE,Computer Science,"
+                + course.getProfessor().getId() + ",Jane Doe,\"Great, \"\"really\"\" great\"");
+        assertThat(lines[3]).endsWith(",,,SB,Business," + otherProfessor.getId() + ",John Roe,\"Line one");
+        assertThat(lines[4]).isEqualTo("line two\"");
+        assertThat(lines[5]).isEmpty();
+        assertThat(lines).hasSize(6);
+    }
+
+    @Test
+    void csvCellsThatLookLikeFormulasAreEscaped() throws IOException {
+        User user = entityManager.createQuery("SELECT u FROM User u WHERE u.email = 'student@ada.edu.az'", User.class)
+                .getSingleResult();
+        entityManager.persist(review(user, course, null, "=HYPERLINK(\"http://evil\")", 2019));
+        entityManager.persist(review(user, course, null, "@SUM(A1)", 2018));
+        entityManager.flush();
+
+        assertThat(export(ImportFormat.CSV, "SITE", 2019).split("\n")[1])
+                .endsWith(",Jane Doe,\"'=HYPERLINK(\"\"http://evil\"\")\"");
+        assertThat(export(ImportFormat.CSV, "SITE", 2018).split("\n")[1]).endsWith(",Jane Doe,'@SUM(A1)");
+        // NDJSON is not read by spreadsheets and keeps the text as written
+        assertThat(export(ImportFormat.NDJSON, "SITE", 2018)).contains("\"text\":\"@SUM(A1)\"");
+    }
+
+        @Test
+    void filtersBySchoolAndYearAsNdjson() throws IOException {
+        String[] lines = export(ImportFormat.NDJSON, "SITE", 2022).split("\n");
+
+        assertThat(lines).hasSize(1);
+        JsonNode row = objectMapper.readTree(lines[0]);
+        assertThat(row.get("course_code").asString()).isEqualTo("CS101");
+        assertThat(row.get("text").asString()).isEqualTo("Great, \"really\" great");
+        assertThat(row.has("email")).isFalse();
+
+        assertThat(export(ImportFormat.NDJSON, "SB", null).split("\n")).hasSize(1);
+        assertThat(export(ImportFormat.CSV, "SITE", 2020).split("\n")).hasSize(1);
+    }
+
+    private String export(ImportFormat format, String school, Integer year) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reviewExportService.exportReviews(format, school, year, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private Professor professor(String name, String school) {
+        Professor professor = new Professor();
+        professor.setName(name);
+        professor.setSchool(school);
+        professor.setDepartment(school.equals("SB") ? "Business" : "Computer Science");
+        entityManager.persist(professor);
+        return professor;
+    }
+
+    private static Review review(User user, Course course, Professor professor, String text, int year) {
+        Review review = new Review();
+        review.setUser(user);
+        review.setCourse(course);
+        review.setProfessor(professor);
+        review.setRating(4.0);
+        review.setDifficulty(Difficulty.EASY);
+        review.setText(text);
+        review.setSemester("Fall");
+        review.setYear(year);
+        return review;
+    }
+}
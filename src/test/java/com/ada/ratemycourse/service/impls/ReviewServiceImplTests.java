@@ -0,0 +1,268 @@
+package com.ada.ratemycourse.service.impls;
+
+import com.ada.ratemycourse.dto.PageResponse;
+import com.ada.ratemycourse.dto.ReviewRequest;
+import com.ada.ratemycourse.dto.ReviewResponse;
+import com.ada.ratemycourse.dto.SessionUser;
+import com.ada.ratemycourse.model.Course;
+import com.ada.ratemycourse.model.Difficulty;
+import com.ada.ratemycourse.model.Professor;
+import com.ada.ratemycourse.model.Review;
+import com.ada.ratemycourse.model.User;
+import com.ada.ratemycourse.service.ReviewService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class ReviewServiceImplTests {
+
+    private static final int REVIEW_COUNT = 500;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Course course;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Professor professor = new Professor();
+        professor.setName("Jane Doe");
+        professor.setSchool("SITE");
+        professor.setDepartment("Computer Science");
+        entityManager.persist(professor);
+
+        course = new Course();
+        course.setCode("CS101");
+        course.setTitle("Intro to Programming");
+        course.setSchool("SITE");
+        course.setDepartment("Computer Science");
+        course.setProfessor(professor);
+        entityManager.persist(course);
+
+        // A few different authors so user rows are not all served from one cached entity
+        for (int i = 0; i < REVIEW_COUNT; i++) {
+            User user = new User();
+            user.setEmail("student" + i + "@ada.edu.az");
+            user.setPassword("x");
+            entityManager.persist(user);
+
+            Review review = new Review();
+            review.setUser(user);
+            review.setCourse(course);
+            review.setProfessor(professor);
+            review.setRating(4.0);
+            review.setDifficulty(i % 2 == 0 ? Difficulty.EASY : Difficulty.HARD);
+            review.setText("Review " + i);
+            review.setSemester("Fall");
+            review.setYear(2024);
+            entityManager.persist(review);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listingReviewsForCourseIsOneQuery() {
+        List<ReviewResponse> reviews = reviewService.getReviewsForCourse(course.getId(), "student7@ada.edu.az");
+
+        assertThat(reviews).hasSize(REVIEW_COUNT);
+        assertThat(reviews).filteredOn(ReviewResponse::isCanEdit).hasSize(1);
+        assertThat(reviews).allSatisfy(review -> {
+            assertThat(review.getCourseCode()).isEqualTo("CS101");
+            assertThat(review.getProfessorName()).isEqualTo("Jane Doe");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void pagingReviewsForCourseIsOneQueryPerPage() {
+        PageResponse<ReviewResponse> page = reviewService.getReviewsForCoursePage(course.getId(), null, null, 50);
+
+        assertThat(page.getItems()).hasSize(50);
+        assertThat(page.getNext()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void updatingOwnReviewDoesNotLoadEntities() {
+        SessionUser author = author("student7@ada.edu.az");
+        Long reviewId = reviewIdOf(author);
+        statistics.clear();
+
+        ReviewRequest request = new ReviewRequest();
+        request.setRating(2.0);
+        request.setDifficulty("Moderate");
+        request.setText("Changed my mind");
+        request.setSemester("Spring");
+        request.setYear(2025);
+        ReviewResponse response = reviewService.updateReview(reviewId, request, author);
+
+        assertThat(response.getCourseCode()).isEqualTo("CS101");
+        assertThat(response.getProfessorName()).isEqualTo("Jane Doe");
+        assertThat(response.isCanEdit()).isTrue();
+        assertThat(statistics.getEntityStatistics(Review.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isZero();
+
+        entityManager.clear();
+        Review stored = entityManager.find(Review.class, reviewId);
+        assertThat(stored.getRating()).isEqualTo(2.0);
+        assertThat(stored.getDifficulty()).isEqualTo(Difficulty.MODERATE);
+    }
+
+    @Test
+    void deletingChecksOwnershipInTheWrite() {
+        SessionUser author = author("student7@ada.edu.az");
+        Long reviewId = reviewIdOf(author);
+
+        assertThatThrownBy(() -> reviewService.deleteReview(reviewId, author("student8@ada.edu.az")))
+                .hasMessage("You can only delete your own reviews");
+
+        statistics.clear();
+        reviewService.deleteReview(reviewId, author);
+
+        assertThat(statistics.getEntityStatistics(Review.class.getName()).getLoadCount()).isZero();
+        assertThat(entityManager.find(Review.class, reviewId)).isNull();
+        assertThatThrownBy(() -> reviewService.deleteReview(reviewId, author)).hasMessage("Review not found");
+    }
+
+    @Test
+    void pagingOwnReviewsWalksKeysetWithOneQueryPerPage() {
+        User prolific = new User();
+        prolific.setEmail("prolific@ada.edu.az");
+        prolific.setPassword("x");
+        entityManager.persist(prolific);
+        // Many share a createdAt, so the id tie-break has to keep pages apart
+        for (int i = 0; i < 250; i++) {
+            Review review = new Review();
+            review.setUser(prolific);
+            review.setCourse(entityManager.getReference(Course.class, course.getId()));
+            review.setRating(3.0);
+            review.setDifficulty(Difficulty.MODERATE);
+            review.setText("Mine " + i);
+            entityManager.persist(review);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        SessionUser author = new SessionUser(prolific.getId(), prolific.getEmail());
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            statistics.clear();
+            PageResponse<ReviewResponse> page = reviewService.getReviewsForUserPage(author, cursor, 100);
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            assertThat(page.getItems()).allMatch(ReviewResponse::isCanEdit);
+            page.getItems().forEach(review -> ids.add(review.getId()));
+            cursor = page.getNext();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(ids).hasSize(250).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void concurrentEditsOfOneReviewKeepCourseStatsExact() throws Exception {
+        int editors = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(editors);
+        // Committed outside this test's transaction so the editing threads can see and lock it
+        long professorId = executor.submit(() -> jdbcTemplate.queryForObject(
+                "INSERT INTO professors (name, school, department) VALUES ('Race Doe', 'SITE', 'CS') RETURNING id",
+                Long.class)).get();
+        long courseId = executor.submit(() -> jdbcTemplate.queryForObject(
+                "INSERT INTO courses (code, title, school, department, professor_id) " +
+                        "VALUES ('RACE101', 'Race', 'SITE', 'CS', ?) RETURNING id", Long.class, professorId)).get();
+        long userId = executor.submit(() -> jdbcTemplate.queryForObject(
+                "INSERT INTO users (email, password) VALUES ('race@ada.edu.az', 'x') RETURNING id", Long.class)).get();
+        long reviewId = executor.submit(() -> jdbcTemplate.queryForObject(
+                "INSERT INTO reviews (user_id, course_id, rating, difficulty, text) " +
+                        "VALUES (?, ?, 1.0, 'Easy', 'First') RETURNING id", Long.class, userId, courseId)).get();
+        executor.submit(() -> jdbcTemplate.update("INSERT INTO course_stats " +
+                "(course_id, review_count, rating_sum, easy_count, moderate_count, hard_count) " +
+                "VALUES (?, 1, 1.0, 1, 0, 0)", courseId)).get();
+        try {
+            SessionUser author = new SessionUser(userId, "race@ada.edu.az");
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> edits = new ArrayList<>();
+            for (int i = 0; i < editors; i++) {
+                ReviewRequest request = new ReviewRequest();
+                request.setRating(i % 5 + 1.0);
+                request.setDifficulty(i % 2 == 0 ? "Hard" : "Moderate");
+                request.setText("Edit " + i);
+                edits.add(executor.submit(() -> {
+                    start.await();
+                    return reviewService.updateReview(reviewId, request, author);
+                }));
+            }
+            start.countDown();
+            for (Future<?> edit : edits) {
+                edit.get();
+            }
+
+            // Every edit subtracted the values the previous one wrote, so one review's worth is left
+            Map<String, Object> stats = executor.submit(() -> jdbcTemplate.queryForMap(
+                    "SELECT s.review_count, s.rating_sum, s.easy_count + s.moderate_count + s.hard_count AS graded, " +
+                            "r.rating FROM course_stats s JOIN reviews r ON r.course_id = s.course_id " +
+                            "WHERE s.course_id = ?", courseId)).get();
+            assertThat(stats.get("review_count")).isEqualTo(1L);
+            assertThat(stats.get("graded")).isEqualTo(1L);
+            assertThat(stats.get("rating_sum")).isEqualTo(stats.get("rating"));
+        } finally {
+            executor.submit(() -> {
+                jdbcTemplate.update("DELETE FROM rating_histograms WHERE (subject_type = 'course' AND subject_id = ?) " +
+                        "OR (subject_type = 'professor' AND subject_id = ?)", courseId, professorId);
+                jdbcTemplate.update("DELETE FROM course_stats WHERE course_id = ?", courseId);
+                jdbcTemplate.update("DELETE FROM reviews WHERE id = ?", reviewId);
+                jdbcTemplate.update("DELETE FROM courses WHERE id = ?", courseId);
+                jdbcTemplate.update("DELETE FROM professors WHERE id = ?", professorId);
+                return jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+            }).get();
+            executor.shutdown();
+        }
+    }
+
+    private SessionUser author(String email) {
+        Long id = entityManager.createQuery("SELECT u.id FROM User u WHERE u.email = :email", Long.class)
+                .setParameter("email", email)
+                .getSingleResult();
+        return new SessionUser(id, email);
+    }
+
+    private Long reviewIdOf(SessionUser author) {
+        return entityManager.createQuery("SELECT r.id FROM Review r WHERE r.user.id = :userId", Long.class)
+                .setParameter("userId", author.getId())
+                .getSingleResult();
+    }
+}
@@ -0,0 +1,106 @@
+package com.ada.ratemycourse.service.impls;
+
+import com.ada.ratemycourse.dto.ReviewReceipt;
+import com.ada.ratemycourse.dto.ReviewRequest;
+import com.ada.ratemycourse.dto.SessionUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Not transactional: the writer thread commits on its own connection
+@SpringBootTest(properties = "ratemycourse.reviews.write-mode=async")
+class ReviewWriteQueueImplTests {
+
+    @Autowired
+    private ReviewWriteQueueImpl reviewWriteQueue;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long professorId;
+    private long courseId;
+    private SessionUser author;
+
+    @BeforeEach
+    void setUp() {
+        professorId = jdbcTemplate.queryForObject(
+                "INSERT INTO professors (name, school, department) VALUES ('Queue Doe', 'SITE', 'CS') RETURNING id",
+                Long.class);
+        courseId = jdbcTemplate.queryForObject("INSERT INTO courses (code, title, school, department, professor_id) " +
+                "VALUES ('QUEUE101', 'Queue', 'SITE', 'CS', ?) RETURNING id", Long.class, professorId);
+        long userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (email, password) VALUES ('queue@ada.edu.az', 'x') RETURNING id", Long.class);
+        author = new SessionUser(userId, "queue@ada.edu.az");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM rating_histograms WHERE (subject_type = 'course' AND subject_id = ?) " +
+                "OR (subject_type = 'professor' AND subject_id = ?)", courseId, professorId);
+        jdbcTemplate.update("DELETE FROM course_stats WHERE course_id = ?", courseId);
+        jdbcTemplate.update("DELETE FROM reviews WHERE course_id = ?", courseId);
+        jdbcTemplate.update("DELETE FROM courses WHERE id = ?", courseId);
+        jdbcTemplate.update("DELETE FROM professors WHERE id = ?", professorId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", author.getId());
+    }
+
+    @Test
+    void unknownCourseIsRejectedBeforeAReceiptIsIssued() {
+        assertThatThrownBy(() -> reviewWriteQueue.submit(request(-1L), author))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Course not found");
+    }
+
+    @Test
+    void stopWritesEveryQueuedReviewAndReceiptsReportSaved() {
+        List<ReviewReceipt> submitted = new ArrayList<>();
+        try {
+            for (int i = 0; i < 50; i++) {
+                submitted.add(reviewWriteQueue.submit(request(courseId), author));
+            }
+            assertThat(submitted).allMatch(r -> ReviewReceipt.QUEUED.equals(r.getStatus()));
+
+            reviewWriteQueue.stop();
+
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reviews WHERE course_id = ?",
+                    Long.class, courseId)).isEqualTo(50L);
+            for (ReviewReceipt receipt : submitted) {
+                assertThat(reviewWriteQueue.getReceipt(receipt.getReceiptId(), author).getStatus())
+                        .isEqualTo(ReviewReceipt.SAVED);
+            }
+        } finally {
+            reviewWriteQueue.start();
+        }
+    }
+
+    @Test
+    void receiptIsOnlyVisibleToItsAuthor() {
+        ReviewReceipt receipt = reviewWriteQueue.submit(request(courseId), author);
+        SessionUser someoneElse = new SessionUser(author.getId() + 1, "other@ada.edu.az");
+
+        assertThatThrownBy(() -> reviewWriteQueue.getReceipt(receipt.getReceiptId(), someoneElse))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Receipt not found");
+        // Let the write land before tearDown removes the course
+        reviewWriteQueue.stop();
+        reviewWriteQueue.start();
+    }
+
+    private ReviewRequest request(Long courseId) {
+        ReviewRequest request = new ReviewRequest();
+        request.setCourseId(courseId);
+        request.setRating(4.0);
+        request.setDifficulty("Moderate");
+        request.setText("Queued");
+        return request;
+    }
+}